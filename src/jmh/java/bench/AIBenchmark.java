@@ -0,0 +1,40 @@
+package bench;
+
+import obj.soldier.Enemy;
+import util.Level;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the enemy Artificial Intelligence.
+ * Runs one AI decision (visibility checks, attack or patrol) for every alive enemy of the level.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AIBenchmark {
+    @Param({"ChuckNorris", "OmahaBeach", "BaseAttack", "synthetic-100", "synthetic-200"})
+    public String map;
+
+    private Level level; // level with benchmarked enemies
+
+    @Setup(org.openjdk.jmh.annotations.Level.Iteration)
+    public void load() {
+        level = new Level(map, Maps.dir(map), null);
+    }
+
+    @Benchmark
+    public void update(Blackhole blackhole) {
+        for (Enemy enemy : level.getEnemies()) {
+            if (enemy.isDead()) continue;
+            enemy.getAI().update();
+            blackhole.consume(enemy.isShooting());
+        }
+    }
+}
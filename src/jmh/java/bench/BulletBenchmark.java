@@ -0,0 +1,63 @@
+package bench;
+
+import obj.BulletPool;
+import util.Level;
+import static util.Const.*;
+import static util.Const.GUI.*;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the flying bullets.
+ * Keeps the pool filled with the specified count of bullets and moves all of them by one tick,
+ * so every bullet does its obstacle, enemy and player hit check.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BulletBenchmark {
+    private static final int SPAWNS = 1024; // count of precomputed spawn points
+
+    @Param({"OmahaBeach", "BaseAttack", "synthetic-200"})
+    public String map;
+
+    @Param({"16", "256", "4096"})
+    public int bullets;
+
+    private final int[] spawnX = new int[SPAWNS]; // x-coordinates of spawn points
+    private final int[] spawnY = new int[SPAWNS]; // y-coordinates of spawn points
+    private final int[] spawnDirection = new int[SPAWNS]; // bullet directions
+    private int next; // index of the next spawn point
+    private BulletPool pool; // benchmarked pool
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void prepare() {
+        Random random = new Random(42);
+        for (int i = 0; i < SPAWNS; i++) {
+            spawnX[i] = random.nextInt(GAME_WIDTH);
+            spawnY[i] = random.nextInt(GAME_HEIGHT);
+            spawnDirection[i] = random.nextInt(4);
+        }
+    }
+
+    @Setup(org.openjdk.jmh.annotations.Level.Iteration)
+    public void load() {
+        pool = new Level(map, Maps.dir(map), null).getBullets();
+    }
+
+    @Benchmark
+    public BulletPool update() {
+        while (pool.getCount() < bullets) { // Replace bullets that hit something
+            pool.spawn(spawnX[next], spawnY[next], spawnDirection[next]);
+            next = (next + 1) % SPAWNS;
+        }
+        pool.update();
+        return pool;
+    }
+}
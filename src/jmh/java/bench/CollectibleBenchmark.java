@@ -0,0 +1,41 @@
+package bench;
+
+import obj.collectible.Collectible;
+import util.Level;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the collectibles taking check.
+ * Checks all documents, health boxes and ammo boxes of the level against the player position.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollectibleBenchmark {
+    @Param({"ErrandBoy", "BaseAttack", "synthetic-100", "synthetic-200"})
+    public String map;
+
+    private final List<Collectible> collectibles = new ArrayList<>(); // checked collectibles
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void load() {
+        Level level = new Level(map, Maps.dir(map), null);
+        collectibles.addAll(level.getDocs());
+        collectibles.addAll(level.getHealthBoxes());
+        collectibles.addAll(level.getAmmoBoxes());
+    }
+
+    @Benchmark
+    public void isTaken(Blackhole blackhole) {
+        for (Collectible collectible : collectibles) blackhole.consume(collectible.isTaken());
+    }
+}
@@ -0,0 +1,55 @@
+package bench;
+
+import util.Level;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the whole level: one update tick, level loading and level saving.
+ * Level is reloaded before every iteration, so each iteration starts from the initial map state.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LevelBenchmark {
+    @Param({"ErrandBoy", "ChuckNorris", "MazeRunner", "OmahaBeach", "BaseAttack", "synthetic-100", "synthetic-200"})
+    public String map;
+
+    private String dir; // directory of the level file
+    private String saves; // directory for saved levels
+    private Level level; // benchmarked level
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void prepare() throws IOException {
+        dir = Maps.dir(map);
+        saves = Files.createTempDirectory("jmh-saves").toString();
+    }
+
+    @Setup(org.openjdk.jmh.annotations.Level.Iteration)
+    public void load() {
+        level = new Level(map, dir, null);
+    }
+
+    @Benchmark
+    public Level update() {
+        level.update();
+        return level;
+    }
+
+    @Benchmark
+    public Level loadLevel() {
+        return new Level(map, dir, null);
+    }
+
+    @Benchmark
+    public void saveLevel() {
+        level.saveLevel(map, saves);
+    }
+}
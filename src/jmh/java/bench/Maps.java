@@ -0,0 +1,143 @@
+package bench;
+
+import static util.Const.*;
+import static util.Const.Soldier.*;
+import static util.Const.GUI.*;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Level maps used by the benchmarks.
+ * Shipped maps are read from the levels folder, synthetic maps are generated on demand.
+ * Benchmarks must be started from the project root.
+ */
+public final class Maps {
+    public static final String SHIPPED = "lvl"; // folder of shipped levels
+    public static final String SYNTHETIC = "target/jmh"; // folder of generated levels
+    public static final String PREFIX = "synthetic-"; // name prefix of generated levels (followed by entity count)
+    private static final int TOP = 3; // first row of the playing area (rows above are the HUD)
+    private static final Set<String> GENERATED = new HashSet<>(); // synthetic levels written by this JVM
+
+    private Maps() {}
+
+    /**
+     * Returns folder of the level file.
+     * Synthetic level is generated again once per JVM (every fork), so files left by an older generator are never used.
+     *
+     * @param name  shipped level name or "synthetic-N" for a generated level with N entities.
+     * @return directory, where level file is located.
+     */
+    public static synchronized String dir(String name) {
+        if (!name.startsWith(PREFIX)) return SHIPPED;
+
+        Path file = Paths.get(SYNTHETIC, name + ".bin");
+        if (GENERATED.add(name)) {
+            int count = Integer.parseInt(name.substring(PREFIX.length()));
+            try {
+                Files.createDirectories(file.getParent());
+                Files.writeString(file, generate(count).toString(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to write synthetic level " + file, e);
+            }
+        }
+        return SYNTHETIC;
+    }
+
+    /**
+     * Generates level with the specified count of entities.
+     * Entities are split between obstacles (1/2), enemies (1/4), documents (1/8) and boxes (1/16 each).
+     * Every entity gets its own free tile of the playing area, so soldiers never start inside obstacles or each other.
+     * First column is left to the player and the last tile to the finish. Positions depend only on the count.
+     *
+     * @param count total count of entities.
+     * @return level JSON object.
+     * @throws IllegalArgumentException if the entities don't fit into the free tiles.
+     */
+    public static JSONObject generate(int count) {
+        Random random = new Random(count);
+        List<JSONObject> free = new ArrayList<>();
+        for (int row = TOP; row < GAME_HEIGHT / SPRITE; row++) {
+            for (int col = 1; col < GAME_WIDTH / SPRITE; col++) {
+                if (row == GAME_HEIGHT / SPRITE - 1 && col == GAME_WIDTH / SPRITE - 1) continue; // Finish tile
+                free.add(item(col * SPRITE, row * SPRITE));
+            }
+        }
+        if (count > free.size()) throw new IllegalArgumentException("Synthetic level holds at most " + free.size() + " entities.");
+        Collections.shuffle(free, random);
+        Iterator<JSONObject> tiles = free.iterator(); // Every tile is drawn only once
+        JSONObject level = new JSONObject();
+
+        JSONObject player = soldier(0, TOP * SPRITE, UP);
+        player.put(JSON.HEALTH, Limits.HEALTH_MAX);
+        player.put(JSON.AMMO, Limits.AMMO_MAX);
+        level.put(JSON.PLAYER, player);
+        level.put(JSON.FINISH, item(GAME_WIDTH - SPRITE, GAME_HEIGHT - SPRITE));
+
+        JSONArray obstacles = new JSONArray();
+        for (int i = 0; i < count / 2; i++) obstacles.put(position(tiles));
+        level.put(JSON.OBSTACLE, obstacles);
+
+        JSONArray enemies = new JSONArray();
+        for (int i = 0; i < count / 4; i++) {
+            JSONObject at = position(tiles);
+            JSONObject enemy = soldier(at.getInt(JSON.X), at.getInt(JSON.Y), random.nextInt(4));
+            enemy.put(JSON.HEALTH, Limits.HEALTH_ENEMY);
+            enemy.put(JSON.AMMO, 0);
+            enemies.put(enemy);
+        }
+        level.put(JSON.ENEMY, enemies);
+
+        level.put(JSON.DOC, items(tiles, count / 8));
+        level.put(JSON.HEALTHBOX, items(tiles, count / 16));
+        level.put(JSON.AMMOBOX, items(tiles, count / 16));
+        level.put(JSON.BULLET, new JSONArray());
+        return level;
+    }
+
+    private static JSONObject position(Iterator<JSONObject> tiles) {
+        JSONObject tile = tiles.next();
+        JSONObject position = new JSONObject();
+        position.put(JSON.X, tile.getInt(JSON.X));
+        position.put(JSON.Y, tile.getInt(JSON.Y));
+        return position;
+    }
+
+    private static JSONObject soldier(int x, int y, int direction) {
+        JSONObject soldier = new JSONObject();
+        soldier.put(JSON.X, x);
+        soldier.put(JSON.Y, y);
+        soldier.put(JSON.DIRECTION, direction);
+        return soldier;
+    }
+
+    private static JSONObject item(int x, int y) {
+        JSONObject item = new JSONObject();
+        item.put(JSON.X, x);
+        item.put(JSON.Y, y);
+        item.put(JSON.ACTIVE, 1);
+        return item;
+    }
+
+    private static JSONArray items(Iterator<JSONObject> tiles, int count) {
+        JSONArray items = new JSONArray();
+        for (int i = 0; i < count; i++) {
+            JSONObject at = position(tiles);
+            items.put(item(at.getInt(JSON.X), at.getInt(JSON.Y)));
+        }
+        return items;
+    }
+}
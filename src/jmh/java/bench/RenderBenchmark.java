@@ -0,0 +1,77 @@
+package bench;
+
+import util.Atlas;
+import util.Image;
+import util.Level;
+import static util.Const.*;
+import static util.Const.GUI.*;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the renderer: one level frame and blits of the soldier frames.
+ * Sheet frames are drawn scaled from the decoded sheet, atlas frames unscaled at their on-screen size.
+ * Everything is drawn into an offscreen image of the screen format.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RenderBenchmark {
+    @Param({"ErrandBoy", "BaseAttack", "synthetic-200"})
+    public String map;
+
+    private Level level; // rendered level
+    private BufferedImage screen; // offscreen target of drawing
+    private Graphics2D graphics; // graphics of the target
+    private BufferedImage[] sheet; // soldier frames cut from the decoded sheet (original size)
+    private BufferedImage[] atlas; // soldier frames prepared by the atlas (on-screen size)
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void prepare() {
+        level = new Level(map, Maps.dir(map), null);
+        level.update();
+        level.publish();
+        screen = Image.createCompatible(GAME_WIDTH, GAME_HEIGHT, Transparency.OPAQUE);
+        graphics = screen.createGraphics();
+
+        BufferedImage soldiers = Image.loadImage(SOLDIERS);
+        BufferedImage[][][] frames = Atlas.get(GameObject.ENEMY);
+        sheet = new BufferedImage[16];
+        atlas = new BufferedImage[16];
+        for (int i = 0; i < sheet.length; i++) {
+            sheet[i] = soldiers.getSubimage(i % 4 * GameObject.W, (4 + i / 4) * GameObject.H, GameObject.W, GameObject.H);
+            atlas[i] = frames[i / 4][0][i % 4];
+        }
+    }
+
+    @TearDown(org.openjdk.jmh.annotations.Level.Trial)
+    public void release() {
+        graphics.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage level() {
+        level.render(graphics);
+        return screen;
+    }
+
+    @Benchmark
+    public BufferedImage sheetScaled() {
+        for (int i = 0; i < 256; i++) graphics.drawImage(sheet[i & 15], i % 20 * SPRITE, i / 20 * SPRITE, SPRITE, SPRITE, null);
+        return screen;
+    }
+
+    @Benchmark
+    public BufferedImage atlasUnscaled() {
+        for (int i = 0; i < 256; i++) graphics.drawImage(atlas[i & 15], i % 20 * SPRITE, i / 20 * SPRITE, null);
+        return screen;
+    }
+}
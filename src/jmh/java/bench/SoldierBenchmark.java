@@ -0,0 +1,40 @@
+package bench;
+
+import obj.soldier.Player;
+import util.Level;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the soldier movement.
+ * Player walks one step in every direction, so he stays near the start position
+ * and every step does the full border, obstacle and soldier collision check.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SoldierBenchmark {
+    @Param({"ErrandBoy", "MazeRunner", "BaseAttack", "synthetic-100", "synthetic-200"})
+    public String map;
+
+    private Player player; // moved soldier
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void load() {
+        player = new Level(map, Maps.dir(map), null).getPlayer();
+    }
+
+    @Benchmark
+    public Player move() {
+        player.moveRight();
+        player.moveDown();
+        player.moveLeft();
+        player.moveUp();
+        return player;
+    }
+}
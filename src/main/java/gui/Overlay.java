@@ -0,0 +1,204 @@
+package gui;
+
+import main.Scheduler;
+import util.Metrics;
+import static util.Const.*;
+import static util.Const.GUI.Overlay.*;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * Class for the in-game performance overlay.
+ * Shows update and frame rates, costs of the level update phases, GC activity, entity counts
+ * and graph of the last frame times.
+ * Everything is drawn from preallocated buffers, so the overlay doesn't allocate per frame.
+ */
+public class Overlay {
+    private final Metrics metrics; // source of the measured values
+    private final Scheduler updates; // update loop with its tick counter
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans(); // cached GC beans
+    private final char[][] lines = new char[LINES][W / 8]; // text of the overlay lines
+    private final int[] lengths = new int[LINES]; // used lengths of the overlay lines
+    private final int[] graphX = new int[Metrics.GRAPH], graphY = new int[Metrics.GRAPH]; // points of the frame-time graph
+    private final long[] previous = new long[4]; // ticks, frames, GC count and GC time at the last sample
+    private long sampled; // time of the last rates sample (nanosec)
+    private long ups, fps, gcs, gcTime; // rates of the last second
+    private volatile boolean visible; // overlay is shown
+
+    /**
+     * Constructor for the Overlay.
+     *
+     * @param metrics   runtime metrics to show.
+     * @param updates   scheduler of the update loop.
+     */
+    public Overlay(Metrics metrics, Scheduler updates) {
+        this.metrics = metrics;
+        this.updates = updates;
+        for (int i = 0; i < Metrics.GRAPH; i++) graphX[i] = X + W - 8 - i * (W - 16) / Metrics.GRAPH;
+    }
+
+    /**
+     * Shows or hides the overlay.
+     * Safe to call from the input thread.
+     */
+    public void toggle() {
+        visible = !visible;
+    }
+
+    /**
+     * Returns if the overlay is shown.
+     *
+     * @return true if overlay is shown, false otherwise.
+     */
+    public boolean isVisible() {
+        return visible;
+    }
+
+    /**
+     * Renders the overlay on the screen.
+     * Must be called from the render thread only.
+     *
+     * @param graphics Graphics object used to draw the overlay.
+     */
+    public void render(Graphics graphics) {
+        if (!visible) return;
+        sample();
+        compose();
+
+        int height = LINES * LINE + GRAPH_H + 16;
+        graphics.setColor(BACKGROUND);
+        graphics.fillRect(X, Y, W, height);
+
+        // Text lines
+        graphics.setFont(FONT);
+        graphics.setColor(GUI.Colors.KHAKI);
+        for (int i = 0; i < LINES; i++) graphics.drawChars(lines[i], 0, lengths[i], X + 8, Y + (i + 1) * LINE);
+
+        // Frame-time graph with the line of the FPS target
+        int bottom = Y + height - 8;
+        int target = bottom - (int) (1000000000L / FPS / GRAPH_SCALE);
+        graphics.setColor(TARGET);
+        graphics.drawLine(X + 8, target, X + W - 8, target);
+        for (int i = 0; i < Metrics.GRAPH; i++) {
+            long interval = metrics.getInterval(i);
+            graphY[i] = bottom - (int) Math.min(GRAPH_H, interval / GRAPH_SCALE);
+        }
+        graphics.setColor(Color.GREEN);
+        graphics.drawPolyline(graphX, graphY, Metrics.GRAPH);
+    }
+
+    /**
+     * Recalculates rates once per second.
+     */
+    private void sample() {
+        long now = System.nanoTime();
+        long elapsed = now - sampled;
+        if (elapsed < 1000000000L) return;
+
+        long ticks = updates.getTicks(), frames = metrics.getFrames(), count = 0, time = 0;
+        for (int i = 0; i < collectors.size(); i++) {
+            count += Math.max(0, collectors.get(i).getCollectionCount());
+            time += Math.max(0, collectors.get(i).getCollectionTime());
+        }
+        if (sampled != 0) {
+            ups = (ticks - previous[0]) * 1000000000L / elapsed;
+            fps = (frames - previous[1]) * 1000000000L / elapsed;
+            gcs = count - previous[2];
+            gcTime = time - previous[3];
+        }
+        previous[0] = ticks;
+        previous[1] = frames;
+        previous[2] = count;
+        previous[3] = time;
+        sampled = now;
+    }
+
+    /**
+     * Writes actual values into the text lines.
+     */
+    private void compose() {
+        int line = 0;
+        lengths[line] = 0;
+        append(line, "UPS ").append(line, ups).append(line, "/").append(line, UPS);
+        append(line, "  FPS ").append(line, fps).append(line, "/").append(line, FPS);
+        append(line, "  overruns ").append(line, metrics.getOverruns());
+
+        lengths[++line] = 0;
+        append(line, "tick  ").append(line, (long) metrics.getTickMean()).append(line, " us  p99 ").append(line, metrics.getTickP99());
+        append(line, "  max ").append(line, metrics.getTickMax()).append(line, "  of ").append(line, metrics.getTickBudget());
+
+        lengths[++line] = 0;
+        append(line, "AI ").append(line, metrics.getPhase(Metrics.AI) / 1000);
+        append(line, "  move ").append(line, metrics.getPhase(Metrics.MOVEMENT) / 1000);
+        append(line, "  bullets ").append(line, metrics.getPhase(Metrics.BULLETS) / 1000);
+        append(line, "  items ").append(line, metrics.getPhase(Metrics.COLLECTIBLES) / 1000);
+        append(line, "  snap ").append(line, metrics.getPhase(Metrics.SNAPSHOT) / 1000).append(line, " us");
+
+        lengths[++line] = 0;
+        append(line, "frame ").append(line, (long) metrics.getFrameMean()).append(line, " us  p99 ").append(line, metrics.getFrameP99());
+        append(line, "  GC ").append(line, gcs).append(line, "/s ").append(line, gcTime).append(line, " ms");
+
+        lengths[++line] = 0;
+        append(line, "enemies ").append(line, metrics.getEnemies());
+        append(line, "  bullets ").append(line, metrics.getBullets());
+        append(line, "  items ").append(line, metrics.getCollectibles());
+        append(line, "  AI ").append(line, metrics.getPerceptions()).append(line, "/").append(line, metrics.getPerceptionBudget());
+    }
+
+    /**
+     * Appends text to the overlay line.
+     * Text is cut if the line is full.
+     *
+     * @param line  index of the line.
+     * @param text  text to append.
+     * @return this overlay.
+     */
+    private Overlay append(int line, String text) {
+        int count = Math.min(text.length(), lines[line].length - lengths[line]);
+        text.getChars(0, count, lines[line], lengths[line]);
+        lengths[line] += count;
+        return this;
+    }
+
+    /**
+     * Appends decimal number to the overlay line without creating a string.
+     * Number is cut if the line is full.
+     *
+     * @param line  index of the line.
+     * @param value number to append.
+     * @return this overlay.
+     */
+    private Overlay append(int line, long value) {
+        char[] chars = lines[line];
+        if (value < 0) {
+            if (lengths[line] < chars.length) chars[lengths[line]++] = '-';
+            value = -value;
+        }
+
+        int digits = 1;
+        for (long rest = value / 10; rest > 0; rest /= 10) digits++;
+        digits = Math.min(digits, chars.length - lengths[line]);
+        for (int i = lengths[line] + digits - 1; i >= lengths[line]; i--) { // Write digits from the end
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        lengths[line] += digits;
+        return this;
+    }
+
+    /**
+     * Returns actual text of the overlay line.
+     * Used for tests only - allocates a new string.
+     *
+     * @param line  index of the line.
+     * @return text of the line.
+     */
+    public String getLine(int line) {
+        compose();
+        return new String(lines[line], 0, lengths[line]);
+    }
+}
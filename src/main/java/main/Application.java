@@ -1,8 +1,10 @@
 package main;
 
+import gui.Overlay;
 import state.*;
 import util.Audio;
 import util.Log;
+import util.Metrics;
 import static util.Const.*;
 
 import java.awt.Graphics;
@@ -18,6 +20,10 @@ public class Application {
     private final Tutorial tutorial; // associated tutorial state
     private final Editor editor;  // associated editor state
     private final Game game;  // associated game state
+    private final Scheduler updateScheduler = new Scheduler(UPS, CATCH_UP); // update loop timing
+    private final Scheduler renderScheduler = new Scheduler(FPS, 0); // render loop timing (late frames are dropped)
+    private final Metrics metrics = new Metrics(); // runtime metrics (exposed through JMX)
+    private final Overlay overlay = new Overlay(metrics, updateScheduler); // in-game performance overlay
     Thread update, render; // parallel threads
     Log logger; // application logger
 
@@ -26,10 +32,16 @@ public class Application {
      * Constructor for the Application.
      * Initializes all game states, Java Swing Window and audio player.
      * Starts threads for game update and game render.
+     *
+     * @param logger    application logger.
+     * @param mixing    true to mix sound effects in software, false to play them by clips.
+     * @param active    true to render actively by the buffer strategy, false to use Swing repaints.
+     * @param vsync     true to synchronize the screen after every frame (active rendering only).
      */
-    public Application(Log logger) {
-        // Connect logger
+    public Application(Log logger, boolean mixing, boolean active, boolean vsync) {
+        // Connect logger and metrics
         this.logger = logger;
+        metrics.register();
 
         // Create game states
         menu = new Menu(this);
@@ -39,8 +51,8 @@ public class Application {
         game = new Game(this);
 
         // Connect video and audio outputs
-        window = new Window(this);
-        audio = new Audio();
+        window = new Window(this, active, vsync);
+        audio = new Audio(mixing);
 
         // Start new thread for game updating
         update = new Thread(new Update());
@@ -65,12 +77,24 @@ public class Application {
         }
     }
 
+    /**
+     * Makes one tick of the update loop.
+     * Measures how long the update took.
+     */
+    private void tick() {
+        long start = System.nanoTime();
+        update();
+        metrics.tick(System.nanoTime() - start);
+    }
+
     /**
      * Method to render the current game state.
      * Calls the render method of the current state object based on the current state.
+     * Measures how long the frame took.
      * @param graphics Graphics object to use for rendering.
      */
     public void render(Graphics graphics) {
+        long start = System.nanoTime();
         switch (States.state) {
             case MENU -> menu.render(graphics);
             case TUTORIAL -> tutorial.render(graphics);
@@ -78,6 +102,7 @@ public class Application {
             case GAME -> game.render(graphics);
             case EDITOR -> editor.render(graphics);
         }
+        metrics.frame(System.nanoTime() - start);
     }
 
     /**
@@ -152,23 +177,60 @@ public class Application {
         return logger;
     }
 
+    /**
+     * Returns runtime metrics of the application.
+     *
+     * @return application metrics.
+     */
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns in-game performance overlay.
+     *
+     * @return performance overlay.
+     */
+    public Overlay getOverlay() {
+        return overlay;
+    }
+
+    /**
+     * Returns scheduler of the update loop.
+     *
+     * @return update loop scheduler.
+     */
+    public Scheduler getUpdateScheduler() {
+        return updateScheduler;
+    }
+
+    /**
+     * Returns scheduler of the render loop.
+     *
+     * @return render loop scheduler.
+     */
+    public Scheduler getRenderScheduler() {
+        return renderScheduler;
+    }
+
+    /**
+     * Checks if the application is still running.
+     *
+     * @return false if exit was requested, true otherwise.
+     */
+    private boolean isRunning() {
+        return States.state != States.MENU || States.stage != Stages.Menu.EXIT;
+    }
+
     /**
      * Runnable class for the render thread.
      * Renders the game at the specified frame rate (FPS).
+     * Frames are drawn right here with active rendering, or requested from Swing with passive rendering.
      */
     private class Render implements Runnable {
         @Override
         public void run() {
-            double fpsTime = 1000000000d / FPS; // Time per frames (nanosec)
-            double fpsDelta = 0;
-            long prevTime = System.nanoTime();
-
-            do {
-                long curTime = System.nanoTime();
-                fpsDelta += (curTime - prevTime) / fpsTime;
-                prevTime = curTime;
-                if (fpsDelta >= 1) {window.repaint(); fpsDelta--;} // Time to draw
-            } while (States.state != States.MENU || States.stage != Stages.Menu.EXIT); // Stop thread on exit
+            renderScheduler.run(window::present, Application.this::isRunning); // Stop thread on exit
         }
     }
 
@@ -179,16 +241,8 @@ public class Application {
     private class Update implements Runnable {
         @Override
         public void run() {
-            double upsTime = 1000000000d / UPS; // Time per updates (nanosec)
-            double upsDelta = 0;
-            long prevTime = System.nanoTime();
-
-            do {
-                long curTime = System.nanoTime();
-                upsDelta += (curTime - prevTime) / upsTime;
-                prevTime = curTime;
-                if (upsDelta >= 1) {update(); upsDelta--;} // Time to make update
-            } while (States.state != States.MENU || States.stage != Stages.Menu.EXIT); // Stop thread on exit
+            updateScheduler.run(Application.this::tick, Application.this::isRunning); // Stop thread on exit
+            logger.game("Update loop stopped after {} ticks ({} late, {} skipped).", updateScheduler.getTicks(), updateScheduler.getLate(), updateScheduler.getSkipped()); // Logging
 
             System.exit(0); // Stop program execution
         }
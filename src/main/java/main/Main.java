@@ -1,6 +1,7 @@
 package main;
 
 import util.Log;
+import util.Replay;
 
 /**
  * The Main class.
@@ -10,20 +11,59 @@ public class Main {
     /**
      * The entry point of the game.
      * Creates a new instance of the Application class and starts it.
+     * With -headless option simulates the level without window and audio instead.
+     * With -replay option plays recorded game headlessly at maximum speed, with -watch option shows it in the window.
      *
-     * @param args command-line arguments.
+     * @param args command-line arguments (-log, -mixer, -active, -vsync, -headless level [ticks], -replay file, -watch file).
      */
     public static void main(String[] args) {
         boolean logging = false;
+        boolean mixing = false;
+        boolean active = false;
+        boolean vsync = false;
+        String watched = null;
+        String simulated = null; // level of the headless simulation
+        long ticks = Long.MAX_VALUE; // maximum count of simulated ticks
 
-        for (String arg : args) {
-            if (arg.equals("-log")) {
+        for (int i = 0; i < args.length; ++i) {
+            if (args[i].equals("-log")) {
                 logging = true;
-                break;
+            } else if (args[i].equals("-mixer")) { // Software mixing of sound effects
+                mixing = true;
+            } else if (args[i].equals("-active")) { // Active rendering by buffer strategy
+                active = true;
+            } else if (args[i].equals("-vsync")) { // Screen synchronization after every frame
+                vsync = true;
+            } else if (args[i].equals("-headless") && i + 1 < args.length) { // Headless simulation
+                simulated = args[++i];
+                if (i + 1 < args.length && isNumber(args[i + 1])) ticks = Long.parseLong(args[++i]); // Tick count is optional
+            } else if (args[i].equals("-replay") && i + 1 < args.length) { // Headless replay
+                Simulation.replay(args[i + 1]);
+                return;
+            } else if (args[i].equals("-watch") && i + 1 < args.length) { // Replay in the window
+                watched = args[++i];
             }
         }
 
+        if (simulated != null) {
+            Simulation.run(simulated, ticks);
+            return;
+        }
+
         Log logger = new Log(logging);
-        new Application(logger);
+        Application app = new Application(logger, mixing, active, vsync);
+        if (watched != null) app.getGame().watch(Replay.load(watched));
+    }
+
+    /**
+     * Controls if the command-line argument is a count.
+     *
+     * @param arg command-line argument.
+     * @return true if argument has only digits and fits into long, false otherwise.
+     */
+    private static boolean isNumber(String arg) {
+        if (arg.isEmpty() || arg.length() > 18) return false;
+        for (int i = 0; i < arg.length(); i++) if (!Character.isDigit(arg.charAt(i))) return false;
+        return true;
     }
 }
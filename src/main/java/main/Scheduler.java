@@ -0,0 +1,107 @@
+package main;
+
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Fixed-timestep scheduler for the game loops.
+ * Parks the calling thread between ticks instead of spinning on the CPU.
+ * Runs late ticks to catch up after a stall, but never more than the catch-up limit.
+ */
+public class Scheduler {
+    private final long period; // time per tick (nanosec)
+    private final int catchUp; // maximum count of late ticks run to catch up
+    private volatile long ticks; // count of executed ticks
+    private volatile long late; // count of ticks executed after their deadline
+    private volatile long skipped; // count of ticks dropped after a stall
+
+    /**
+     * Constructor for the Scheduler.
+     *
+     * @param rate      ticks per second.
+     * @param catchUp   maximum count of late ticks run in a row to catch up after a stall.
+     */
+    public Scheduler(int rate, int catchUp) {
+        this.period = 1000000000L / rate;
+        this.catchUp = catchUp;
+    }
+
+    /**
+     * Runs the task at the fixed rate until the running condition is false.
+     *
+     * @param task      task to execute every tick.
+     * @param running   condition of the loop to continue.
+     */
+    public void run(Runnable task, BooleanSupplier running) {
+        long next = System.nanoTime(); // deadline of the next tick
+
+        while (running.getAsBoolean()) {
+            long now = System.nanoTime();
+            if (now < next) { // Too early - sleep till the deadline
+                LockSupport.parkNanos(next - now);
+                continue;
+            }
+
+            long behind = (now - next) / period; // Count of whole ticks we are late
+            if (behind > 0) late++;
+            if (behind > catchUp) { // Stall was too long - drop ticks we won't catch up
+                skipped += behind - catchUp;
+                next += (behind - catchUp) * period;
+            }
+
+            task.run();
+            ticks++;
+            next += period;
+        }
+    }
+
+    /**
+     * Returns progress of the time from the moment to the next tick.
+     * Used by the renderer to interpolate between the last two ticks.
+     *
+     * @param time  moment of the last tick (System.nanoTime).
+     * @return part of the tick period elapsed since the moment (0 to 1).
+     */
+    public float getAlpha(long time) {
+        long elapsed = System.nanoTime() - time;
+        if (elapsed <= 0) return 0;
+        if (elapsed >= period) return 1;
+        return (float) elapsed / period;
+    }
+
+    /**
+     * Returns time per tick.
+     *
+     * @return time per tick in nanoseconds.
+     */
+    public long getPeriod() {
+        return period;
+    }
+
+    /**
+     * Returns count of executed ticks.
+     *
+     * @return executed ticks count.
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Returns count of ticks executed after their deadline.
+     *
+     * @return late ticks count.
+     */
+    public long getLate() {
+        return late;
+    }
+
+    /**
+     * Returns count of ticks dropped after a stall.
+     *
+     * @return skipped ticks count.
+     */
+    public long getSkipped() {
+        return skipped;
+    }
+}
@@ -0,0 +1,159 @@
+package main;
+
+import util.Level;
+import util.Replay;
+
+/**
+ * Headless game engine.
+ * Steps the level without window, audio and render thread.
+ * Used for balancing and regression runs on machines without display.
+ */
+public class Simulation {
+    private final Level level; // simulated level
+    private final Replay replay; // replayed player's controls (null without player's controls)
+    private long ticks; // count of simulated ticks
+    private int cursor; // next replayed control
+
+    /**
+     * Constructor for the Simulation.
+     * Loads level without any application.
+     *
+     * @param name  level filename.
+     * @param dir   directory, where level file is located.
+     */
+    public Simulation(String name, String dir) {
+        level = new Level(name, dir, null);
+        replay = null;
+        ticks = 0;
+    }
+
+    /**
+     * Constructor for the Simulation.
+     * Loads level of the replay with its recorded seed, so the replay controls the player.
+     *
+     * @param replay    recorded game to replay.
+     */
+    public Simulation(Replay replay) {
+        this.replay = replay;
+        level = replay.createLevel(null);
+        ticks = 0;
+    }
+
+    /**
+     * Makes one simulation step.
+     */
+    public void step() {
+        if (replay != null) cursor = replay.apply(level, cursor);
+        level.update();
+        ticks++;
+    }
+
+    /**
+     * Makes specified count of simulation steps.
+     * Stops earlier if the level is over.
+     *
+     * @param count count of steps to make.
+     * @return count of steps really made.
+     */
+    public long step(long count) {
+        long made = 0;
+        while (made < count && !isOver()) {
+            step();
+            made++;
+        }
+        return made;
+    }
+
+    /**
+     * Controls if the level was successfully finished.
+     * Respects the same conditions as Game state.
+     *
+     * @return true if mission is complete, false otherwise.
+     */
+    public boolean isWon() {
+        return level.getEnemiesCount() == 0 && level.getDocsCount() == 0 && level.getFinish().isTaken();
+    }
+
+    /**
+     * Controls if the level was failed.
+     *
+     * @return true if player is dead, false otherwise.
+     */
+    public boolean isLost() {
+        return level.getPlayer().isDead();
+    }
+
+    /**
+     * Controls if the level is over.
+     * Replayed level is also over when the whole replay was played.
+     *
+     * @return true if level was finished or failed, false otherwise.
+     */
+    public boolean isOver() {
+        return isWon() || isLost() || replay != null && replay.isFinished(level);
+    }
+
+    /**
+     * Returns simulated level.
+     *
+     * @return simulated Level object.
+     */
+    public Level getLevel() {
+        return level;
+    }
+
+    /**
+     * Returns count of simulated ticks.
+     *
+     * @return simulated ticks count.
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Runs headless simulation of the level and prints its result.
+     *
+     * @param name  level filename (from levels folder).
+     * @param count maximum count of steps to make.
+     */
+    public static void run(String name, long count) {
+        System.setProperty("java.awt.headless", "true");
+
+        Simulation simulation = new Simulation(name, "lvl");
+        long start = System.nanoTime();
+        simulation.step(count);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        simulation.print(name, seconds);
+    }
+
+    /**
+     * Runs headless replay at maximum speed and prints its result.
+     *
+     * @param file  path of the replay file.
+     */
+    public static void replay(String file) {
+        System.setProperty("java.awt.headless", "true");
+
+        Simulation simulation = new Simulation(Replay.load(file));
+        long start = System.nanoTime();
+        simulation.step(Long.MAX_VALUE);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        simulation.print(file, seconds);
+    }
+
+    /**
+     * Prints result of the simulation.
+     *
+     * @param name      name of the simulated level or replay.
+     * @param seconds   duration of the simulation (sec).
+     */
+    private void print(String name, double seconds) {
+        String result = isWon() ? "won" : isLost() ? "lost" : "running";
+        System.out.printf("%s: %d ticks in %.3f s (%.0f ticks/s), level %s. Enemies: %d, documents: %d, health: %d, ammo: %d.%n",
+                name, ticks, seconds, ticks / seconds, result, level.getEnemiesCount(), level.getDocsCount(),
+                level.getPlayer().getHealth(), level.getPlayer().getAmmo());
+    }
+}
@@ -9,6 +9,7 @@ import static util.Const.Stages.*;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.image.BufferStrategy;
 import java.awt.event.WindowEvent;
 import java.awt.event.WindowFocusListener;
 import java.io.IOException;
@@ -17,18 +18,39 @@ import java.io.InputStream;
 /**
  * Class for a game window.
  * Window is JFrame and JPanel at the same time.
+ * Passive rendering asks Swing to repaint the panel, active rendering draws from the render thread
+ * straight into the buffer strategy of a canvas laid over the panel.
+ * Canvas is hidden while the text field is shown, then the panel is painted instead.
  */
 public class Window extends JPanel {
     private final Application app; // associated game application
     private final TextField textField; // text field for inputs (game saving)
+    private final Canvas canvas; // surface of active rendering (null for passive rendering)
+    private final boolean vsync; // synchronize the screen after every shown frame
+    private BufferStrategy strategy; // page flipping buffers of the canvas
+    private volatile boolean typing; // text field is shown (canvas is hidden)
+    private final Object frameLock = new Object(); // lock of frame rendering, so only one thread renders at a time
 
     /**
      * Constructor for the Window.
+     * Uses passive rendering through Swing repaints.
      *
      * @param app   Application instance associated with this Window.
      */
     public Window(Application app) {
+        this(app, false, false);
+    }
+
+    /**
+     * Constructor for the Window.
+     *
+     * @param app       Application instance associated with this Window.
+     * @param active    true for active rendering by the buffer strategy, false for Swing repaints.
+     * @param vsync     true to synchronize the screen after every shown frame (active rendering only).
+     */
+    public Window(Application app, boolean active, boolean vsync) {
         this.app = app;
+        this.vsync = vsync;
         loadFont();
 
         // Connect keyboard and mouse inputs
@@ -45,11 +67,28 @@ public class Window extends JPanel {
         frame.add(this);
         textField = new TextField("");
         add(textField);
+        if (active) { // Canvas covers the panel, so it gets the inputs too
+            canvas = new Canvas();
+            canvas.setPreferredSize(new Dimension(GAME_WIDTH, GAME_HEIGHT));
+            canvas.setIgnoreRepaint(true);
+            canvas.setFocusable(true);
+            canvas.addKeyListener(input);
+            canvas.addMouseListener(input);
+            canvas.addMouseMotionListener(input);
+            add(canvas);
+        } else {
+            canvas = null;
+        }
         frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         frame.setResizable(false);
         frame.pack();
         frame.setLocationRelativeTo(null);
         frame.setVisible(true);
+        if (canvas != null) { // Buffers can be created only for the displayed canvas
+            canvas.createBufferStrategy(2);
+            strategy = canvas.getBufferStrategy();
+            canvas.requestFocus();
+        }
 
         frame.addWindowFocusListener(new WindowFocusListener() {
             @Override
@@ -62,21 +101,76 @@ public class Window extends JPanel {
 
     /**
      * Method to repaint game screen.
+     * Panel isn't painted while the active rendering canvas covers it.
+     * Rendering holds the frame lock, so it never overlaps active rendering of the render thread.
      *
      * @param graphics Graphics object to use for rendering
      */
     public void paintComponent(Graphics graphics) {
         super.paintComponent(graphics);
-        app.render(graphics);
+        synchronized (frameLock) {
+            if (canvas == null || typing) app.render(graphics);
+        }
+    }
+
+    /**
+     * Presents new frame on the screen.
+     * Called from the render thread. Active rendering draws the frame right away,
+     * passive rendering (or canvas hidden by text field) only requests Swing repaint.
+     * Active frame is drawn under the frame lock and typing is checked inside it,
+     * so the event dispatch thread can't paint the panel at the same time.
+     */
+    public void present() {
+        if (strategy != null) {
+            synchronized (frameLock) {
+                if (!typing) {
+                    draw();
+                    return;
+                }
+            }
+        }
+        repaint();
+    }
+
+    /**
+     * Draws the frame into the buffer strategy and shows it.
+     * Must be called with the frame lock held.
+     */
+    private void draw() {
+        do {
+            do { // Render again if the buffer was lost while drawing
+                Graphics graphics = strategy.getDrawGraphics();
+                try {
+                    app.render(graphics);
+                } finally {
+                    graphics.dispose();
+                }
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+        if (vsync) Toolkit.getDefaultToolkit().sync(); // Wait till the frame really reaches the screen
     }
 
     /**
      * Sets the visibility of text field for writing.
+     * Canvas of active rendering is hidden meanwhile, so the text field isn't covered.
+     * Can be called from any thread, Swing components are changed on the event dispatch thread.
      *
      * @param value true to show text field component, false otherwise.
      */
     public void setTextField(boolean value) {
-        textField.setVisible(value);
+        if (typing == value) return;
+        synchronized (frameLock) { // Wait till the actual active frame is finished
+            typing = value;
+        }
+        SwingUtilities.invokeLater(() -> {
+            textField.setVisible(value);
+            if (canvas != null) {
+                canvas.setVisible(!value);
+                if (value) textField.requestFocus();
+                else canvas.requestFocus();
+            }
+        });
     }
 
     /**
@@ -0,0 +1,254 @@
+package obj;
+
+import static util.Const.*;
+import static util.Const.Soldier.*;
+import static util.Const.GUI.*;
+import obj.soldier.Enemy;
+import org.json.JSONObject;
+import util.Level;
+import util.Atlas;
+import util.Snapshot;
+
+import java.awt.image.BufferedImage;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Pool of all bullets of the level.
+ * Keeps bullet attributes in primitive arrays (one slot per bullet).
+ * Slots of spent bullets are returned to the free list and reused by new shots,
+ * so the pool grows only up to the most bullets flying at once.
+ */
+public class BulletPool {
+    private final Level level; // associated level
+    private BufferedImage[] sprites; // bullet images (one for every direction), null until needed in headless level
+    private float[] x, y; // bullet coordinates
+    private float[] prevX, prevY; // bullet coordinates captured in the last snapshot
+    private int[] direction; // bullet movement directions
+    private int[] limit; // bullet ranges
+    private boolean[] active; // is slot used by flying bullet
+    private int[] free; // stack of released slots
+    private int freeCount; // count of released slots
+    private int used; // count of ever used slots (slots above are untouched)
+    private int count; // count of flying bullets
+
+    /**
+     * Constructor for the BulletPool.
+     *
+     * @param level associated Level object.
+     */
+    public BulletPool(Level level) {
+        this.level = level;
+        if (level.getApp() != null) sprites = loadSprites(); // Headless level loads them only if it's rendered
+        allocate(16);
+    }
+
+    /**
+     * Loads images of bullet object.
+     *
+     * @return bullet images for every direction.
+     */
+    private static BufferedImage[] loadSprites() {
+        BufferedImage[][][] frames = Atlas.get(GameObject.BULLET); // Shared by all bullet pools
+        BufferedImage[] sprites = new BufferedImage[frames.length];
+        for (int i = 0; i < sprites.length; ++i) sprites[i] = frames[i][0][0];
+        return sprites;
+    }
+
+    /**
+     * Resizes all attribute arrays to the new capacity.
+     *
+     * @param capacity new count of slots.
+     */
+    private void allocate(int capacity) {
+        x = x == null ? new float[capacity] : Arrays.copyOf(x, capacity);
+        y = y == null ? new float[capacity] : Arrays.copyOf(y, capacity);
+        prevX = prevX == null ? new float[capacity] : Arrays.copyOf(prevX, capacity);
+        prevY = prevY == null ? new float[capacity] : Arrays.copyOf(prevY, capacity);
+        direction = direction == null ? new int[capacity] : Arrays.copyOf(direction, capacity);
+        limit = limit == null ? new int[capacity] : Arrays.copyOf(limit, capacity);
+        active = active == null ? new boolean[capacity] : Arrays.copyOf(active, capacity);
+        free = free == null ? new int[capacity] : Arrays.copyOf(free, capacity);
+    }
+
+    /**
+     * Makes new bullet in a free slot.
+     *
+     * @param x         x-coordinate of bullet.
+     * @param y         y-coordinate of bullet.
+     * @param direction bullet movement direction.
+     * @param limit     bullet range.
+     */
+    public void spawn(float x, float y, int direction, int limit) {
+        int slot;
+        if (freeCount > 0) { // Reuse slot of a spent bullet
+            slot = free[--freeCount];
+        } else {
+            if (used == active.length) allocate(used * 2);
+            slot = used++;
+        }
+
+        this.x[slot] = x;
+        this.y[slot] = y;
+        prevX[slot] = x;
+        prevY[slot] = y;
+        this.direction[slot] = direction;
+        this.limit[slot] = limit;
+        active[slot] = true;
+        count++;
+    }
+
+    /**
+     * Makes new bullet with full range.
+     *
+     * @param x         x-coordinate of bullet.
+     * @param y         y-coordinate of bullet.
+     * @param direction bullet movement direction.
+     */
+    public void spawn(int x, int y, int direction) {
+        spawn(x, y, direction, (int)(Limits.RANGE * 0.75));
+    }
+
+    /**
+     * Makes bullet from JSON file.
+     *
+     * @param json bullet object from JSON file.
+     */
+    public void spawn(JSONObject json) {
+        spawn(json.getInt(JSON.X), json.getInt(JSON.Y), json.getInt(JSON.DIRECTION), json.getInt(JSON.LIMIT));
+    }
+
+    /**
+     * Makes bullet from binary level file.
+     *
+     * @param buffer binary level file positioned at the bullet record.
+     */
+    public void spawn(ByteBuffer buffer) {
+        spawn(buffer.getFloat(), buffer.getFloat(), buffer.get(), buffer.getShort());
+    }
+
+    /**
+     * Returns slot of the spent bullet to the free list.
+     *
+     * @param slot slot of the bullet.
+     */
+    private void release(int slot) {
+        active[slot] = false;
+        free[freeCount++] = slot;
+        count--;
+    }
+
+    /**
+     * Updates positions and states of all flying bullets.
+     * Releases slots of bullets which were stopped.
+     */
+    public void update() {
+        for (int i = 0; i < used; ++i) {
+            if (!active[i]) continue;
+            if (!move(i)) release(i);
+        }
+    }
+
+    /**
+     * Renders all flying bullets into the level snapshot.
+     * Bullets are captured with their movement since the last snapshot, so the renderer can interpolate it.
+     *
+     * @param snapshot Snapshot object used to capture the bullets.
+     */
+    public void render(Snapshot snapshot) {
+        if (sprites == null) sprites = loadSprites();
+        for (int i = 0; i < used; ++i) {
+            if (!active[i]) continue;
+            snapshot.add(sprites[direction[i]], prevX[i], prevY[i], x[i], y[i]);
+            prevX[i] = x[i];
+            prevY[i] = y[i];
+        }
+    }
+
+    /**
+     * Moves bullet in its direction.
+     * Bullet stops on the screen border, after its range was exhausted or when it hits something.
+     *
+     * @param i slot of the bullet.
+     * @return true if bullet is still flying, false otherwise.
+     */
+    private boolean move(int i) {
+        boolean inside = switch (direction[i]) { // Bullet doesn't cross screen border
+            case UP -> y[i] > 3*SPRITE;
+            case DOWN -> y[i] < GAME_HEIGHT;
+            case LEFT -> x[i] > 0;
+            default -> x[i] < GAME_WIDTH;
+        };
+        if (!inside) return false;
+
+        boolean flying = limit[i] != 0; // Range was exhausted
+        switch (direction[i]) {
+            case UP -> y[i] -= Limits.BULLET;
+            case DOWN -> y[i] += Limits.BULLET;
+            case LEFT -> x[i] -= Limits.BULLET;
+            case RIGHT -> x[i] += Limits.BULLET;
+        }
+        limit[i]--;
+        return affect(i) && flying;
+    }
+
+    /**
+     * Processes effect of the bullet's interaction with other objects.
+     *
+     * @param i slot of the bullet.
+     * @return true if bullet didn't hit anything, false otherwise.
+     */
+    private boolean affect(int i) {
+        boolean flying = !level.getGrid().isObstacle(x[i], y[i]); // Bullet hit obstacle
+
+        Enemy enemy = level.getGrid().enemyAt(x[i], y[i]);
+        if (enemy != null) { // Bullet hit enemy
+            flying = false;
+            enemy.setHealth(enemy.getHealth()-1);
+            if (level.getApp() != null) level.getApp().getAudio().playSound(Sounds.HIT);
+            if (level.getApp() != null) level.getApp().getLogger().game("Enemy {} was hit. Health remained: {}.", enemy, enemy.getHealth()); // Logging
+        }
+
+        if (level.getPlayer().getHitbox().contains(x[i], y[i])) { // Bullet hit player
+            flying = false;
+            level.getPlayer().setHealth(level.getPlayer().getHealth()-1);
+            if (level.getApp() != null) level.getApp().getAudio().playSound(Sounds.HIT);
+            if (level.getApp() != null) level.getApp().getLogger().game("Player {} was hit. Health remained: {}.", level.getPlayer(), level.getPlayer().getHealth()); // Logging
+        }
+
+        return flying;
+    }
+
+    /**
+     * Returns count of flying bullets.
+     *
+     * @return flying bullets count.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Returns count of allocated slots.
+     *
+     * @return pool capacity.
+     */
+    public int getCapacity() {
+        return active.length;
+    }
+
+    /**
+     * Writes records of all flying bullets into binary level file.
+     *
+     * @param buffer binary level file.
+     */
+    public void write(ByteBuffer buffer) {
+        for (int i = 0; i < used; ++i) {
+            if (!active[i]) continue; // Spent bullets aren't saved
+            buffer.putFloat(x[i]).putFloat(y[i]);
+            buffer.put((byte) direction[i]);
+            buffer.putShort((short) limit[i]);
+        }
+    }
+
+}
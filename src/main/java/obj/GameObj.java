@@ -1,6 +1,8 @@
 package obj;
 
+import util.Atlas;
 import util.Level;
+import util.Snapshot;
 
 import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
@@ -11,7 +13,9 @@ import java.awt.image.BufferedImage;
 public abstract class GameObj {
     protected final Level level; // associated level
     protected float x, y; // object coordinates
-    protected BufferedImage[][][] sprites; // object images (with animation)
+    protected float prevX, prevY; // object coordinates captured in the last snapshot
+    protected BufferedImage[][][] sprites; // object images (with animation), null until needed in headless level
+    protected int type; // type of game object (GameObject constant), selects its images
     protected Rectangle hitbox; // interaction area
 
     /**
@@ -25,9 +29,24 @@ public abstract class GameObj {
         this.level = level;
     }
 
+    /**
+     * Constructor for the game object with not aligned position.
+     *
+     * @param x  x-coordinate of object.
+     * @param y  y-coordinate of object.
+     */
+    public GameObj(float x, float y, Level level) {
+        this.x = x;
+        this.y = y;
+        this.prevX = x;
+        this.prevY = y;
+        this.level = level;
+    }
+
 
     /**
      * Sets new position for the game object.
+     * Object jumps there, so its movement isn't interpolated.
      *
      * @param x  x-coordinate of object.
      * @param y  y-coordinate of object.
@@ -35,6 +54,44 @@ public abstract class GameObj {
     public void setPos(int x, int y) {
         this.x = x;
         this.y = y;
+        this.prevX = x;
+        this.prevY = y;
+    }
+
+    /**
+     * Selects images of the object type.
+     * Images are loaded right away only for level with application.
+     * Headless level (without application) doesn't render, so it never touches images.
+     *
+     * @param type type of game object (GameObject constant).
+     */
+    protected void loadSprites(int type) {
+        this.type = type;
+        if (level.getApp() != null) sprites = Atlas.get(type); // Shared by all objects of the type
+    }
+
+    /**
+     * Returns images of the object.
+     * Loads them on the first use, if they weren't loaded yet (headless level rendered by tests or benchmarks).
+     *
+     * @return object images (with animation).
+     */
+    protected BufferedImage[][][] getSprites() {
+        if (sprites == null) sprites = Atlas.get(type);
+        return sprites;
+    }
+
+    /**
+     * Captures the object sprite into the level snapshot with its movement since the last snapshot.
+     * Renderer interpolates between both positions.
+     *
+     * @param snapshot  Snapshot object used to capture the object.
+     * @param sprite    actual image of the object.
+     */
+    protected void capture(Snapshot snapshot, BufferedImage sprite) {
+        snapshot.add(sprite, prevX, prevY, x, y);
+        prevX = x;
+        prevY = y;
     }
 
     /**
@@ -1,15 +1,13 @@
 package obj;
 
-import util.Image;
 import static util.Const.*;
 import static util.Const.GUI.*;
 
-import org.json.JSONException;
 import org.json.JSONObject;
 import util.Level;
 
 import java.awt.*;
-import java.awt.image.BufferedImage;
+import java.nio.ByteBuffer;
 
 /**
  * Class for obstacles (boxes) object.
@@ -25,8 +23,7 @@ public class Obstacle extends GameObj {
      */
     public Obstacle(int x, int y, Level level) {
         super(x, y, level);
-        sprites = new BufferedImage[1][1][1];
-        sprites[0][0][0] = Image.loadImage(BLOCKS).getSubimage(0, 0, GameObject.W, GameObject.H);
+        type = GameObject.OBSTACLE; // Drawn only in the static layer of the level
         hitbox = new Rectangle(x, y, SPRITE, SPRITE);
     }
 
@@ -38,33 +35,28 @@ public class Obstacle extends GameObj {
     public Obstacle(JSONObject json, Level level) {
         super(json.getInt(JSON.X), json.getInt(JSON.Y), level);
         hitbox = new Rectangle((int)x, (int)y, SPRITE, SPRITE);
-        sprites = new BufferedImage[1][1][1];
-        sprites[0][0][0] = Image.loadImage(BLOCKS).getSubimage(0, 0, GameObject.W, GameObject.H);
+        type = GameObject.OBSTACLE; // Drawn only in the static layer of the level
     }
 
     /**
-     * Renders the obstacle on the screen.
+     * Constructor for the Obstacle.
      *
-     * @param graphics Graphics object used to draw the obstaclet.
+     * @param buffer    binary level file positioned at the obstacle record.
+     * @param level     associated Level object.
      */
-    public void render(Graphics graphics) {
-        graphics.drawImage(sprites[0][0][0], (int)x, (int)y, SPRITE, SPRITE, null);
+    public Obstacle(ByteBuffer buffer, Level level) {
+        super(buffer.getShort(), buffer.getShort(), level);
+        hitbox = new Rectangle((int)x, (int)y, SPRITE, SPRITE);
+        type = GameObject.OBSTACLE; // Drawn only in the static layer of the level
     }
 
     /**
-     * Makes JSON object from the obstacle to write into the file.
+     * Writes the obstacle record into binary level file.
      *
-     * @return JSON object for writing
+     * @param buffer binary level file.
      */
-    public JSONObject getJSON() {
-        JSONObject json = new JSONObject();
-        try {
-            json.put(JSON.X, x);
-            json.put(JSON.Y, y);
-        } catch (JSONException e) {
-            level.getApp().getLogger().error("Unable to write JSON object!"); // Logging
-        }
-
-        return json;
+    public void write(ByteBuffer buffer) {
+        buffer.putShort((short) x).putShort((short) y);
     }
+
 }
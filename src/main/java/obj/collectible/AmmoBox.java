@@ -6,6 +6,8 @@ import static util.Const.GUI.*;
 
 import org.json.JSONObject;
 
+import java.nio.ByteBuffer;
+
 /**
  * Class for ammo boxes.
  * Extends abstract Collectible object class.
@@ -34,12 +36,22 @@ public class AmmoBox extends Collectible {
         loadSprites(GameObject.AMMO);
     }
 
+    /**
+     * Constructor for the AmmoBox.
+     *
+     * @param buffer    binary level file positioned at the ammo box record.
+     * @param level     associated Level object.
+     */
+    public AmmoBox(ByteBuffer buffer, Level level) {
+        super(buffer, level);
+        loadSprites(GameObject.AMMO);
+    }
+
     /**
      * Updates ammo box's state.
      */
     public void update() {
         if (active && isTaken()) affect();
-        updateAnim();
     }
 
     /**
@@ -53,7 +65,7 @@ public class AmmoBox extends Collectible {
             level.getPlayer().setAmmo(tmpAmmo);
             active = false;
             if (level.getApp() != null) level.getApp().getAudio().playSound(Sounds.AMMO);
-            if (level.getApp() != null) level.getApp().getLogger().game("Ammo box " + this + " was taken. Current ammo count: " + level.getPlayer().getAmmo() + "."); // Logging
+            if (level.getApp() != null) level.getApp().getLogger().game("Ammo box {} was taken. Current ammo count: {}.", this, level.getPlayer().getAmmo()); // Logging
         }
     }
 }
@@ -2,15 +2,14 @@ package obj.collectible;
 
 import obj.GameObj;
 import obj.Takeable;
-import util.Image;
 import util.Level;
+import util.Snapshot;
 import static util.Const.*;
 import static util.Const.GUI.*;
 
-import org.json.JSONException;
 import org.json.JSONObject;
 import java.awt.*;
-import java.awt.image.BufferedImage;
+import java.nio.ByteBuffer;
 
 /**
  * The abstract class for collectible objects.
@@ -19,7 +18,6 @@ import java.awt.image.BufferedImage;
  */
 public abstract class Collectible extends GameObj implements Takeable {
     protected boolean active; // is item active at the moment
-    protected int animFrame, animIndex; // animation variables
 
     /**
      * Constructor for the Collectible.
@@ -47,36 +45,25 @@ public abstract class Collectible extends GameObj implements Takeable {
     }
 
     /**
-     * Renders the collectible on the screen.
+     * Constructor for the Collectible.
      *
-     * @param graphics Graphics object used to draw the collectible.
+     * @param buffer    binary level file positioned at the collectible record.
+     * @param level     associated Level object.
      */
-    public void render(Graphics graphics) {
-        if (active) graphics.drawImage(sprites[0][0][animIndex], (int)x, (int)y, SPRITE, SPRITE,null);
+    public Collectible(ByteBuffer buffer, Level level) {
+        super(buffer.getShort(), buffer.getShort(), level);
+        active = buffer.get() == 1;
+        hitbox = new Rectangle((int)(x-0.25*SPRITE), (int)(y-0.25*SPRITE), (int)(1.5*SPRITE), (int)(1.5*SPRITE));
     }
 
     /**
-     * Loads images of collectible object.
+     * Renders the collectible into the level snapshot.
+     * All collectibles loop their animation by the shared level clock, so they don't keep own counters.
      *
-     * @param type type of object (position in image file).
-     */
-    protected void loadSprites(int type) {
-        BufferedImage tmp = Image.loadImage(ITEMS);
-        sprites = new BufferedImage[1][1][4];
-        for (int i = 0; i < sprites[0][0].length; ++i) {
-            sprites[0][0][i] = tmp.getSubimage(i*GameObject.W,(type - 2) * GameObject.H, GameObject.W, GameObject.H);
-        }
-    }
-
-    /**
-     * Processes collectible animation.
+     * @param snapshot Snapshot object used to capture the collectible.
      */
-    protected void updateAnim() {
-        animFrame++;
-        if (animFrame >= FPS) {
-            animFrame = 0;
-            animIndex = animIndex == 3 ? 0 : animIndex + 1;
-        }
+    public void render(Snapshot snapshot) {
+        if (active) snapshot.add(getSprites()[0][0][level.getFrame(Animation.ITEM)], x, y);
     }
 
     /**
@@ -87,13 +74,15 @@ public abstract class Collectible extends GameObj implements Takeable {
     @Override
     public boolean isTaken() {
         Rectangle playerHitbox = level.getPlayer().getHitbox();
-        double w = playerHitbox.getWidth(); // Player's hitbox width
-        double h = playerHitbox.getHeight(); // Player's hitbox height
+        int px = playerHitbox.x; // Player's hitbox left side
+        int py = playerHitbox.y; // Player's hitbox top side
+        int w = playerHitbox.width; // Player's hitbox width
+        int h = playerHitbox.height; // Player's hitbox height
 
-        boolean topL = hitbox.contains(playerHitbox.getX(), playerHitbox.getY()); // Player's top left corner is inside item hitbox
-        boolean topR = hitbox.contains(playerHitbox.getX() + w, playerHitbox.getY()); // Player's top right corner is inside item hitbox
-        boolean botL = hitbox.contains(playerHitbox.getX(), playerHitbox.getY() + h);  // Player's bottom left corner is inside item hitbox
-        boolean botR = hitbox.contains(playerHitbox.getX() + w, playerHitbox.getY() + h);  // Player's bottom right corner is inside item hitbox
+        boolean topL = hitbox.contains(px, py); // Player's top left corner is inside item hitbox
+        boolean topR = hitbox.contains(px + w, py); // Player's top right corner is inside item hitbox
+        boolean botL = hitbox.contains(px, py + h);  // Player's bottom left corner is inside item hitbox
+        boolean botR = hitbox.contains(px + w, py + h);  // Player's bottom right corner is inside item hitbox
 
         return topR && topL && botR && botL;
     }
@@ -108,20 +97,13 @@ public abstract class Collectible extends GameObj implements Takeable {
     }
 
     /**
-     * Makes JSON object from the collectible to write into the file.
+     * Writes the collectible record into binary level file.
      *
-     * @return JSON object for writing
+     * @param buffer binary level file.
      */
-    public JSONObject getJSON() {
-        JSONObject json = new JSONObject();
-        try {
-            json.put(JSON.X, x);
-            json.put(JSON.Y, y);
-            if (active) json.put(JSON.ACTIVE, 1); else json.put(JSON.ACTIVE, 0);
-        } catch (JSONException e) {
-            level.getApp().getLogger().error("Unable to write JSON object!"); // Logging
-        }
-
-        return json;
+    public void write(ByteBuffer buffer) {
+        buffer.putShort((short) x).putShort((short) y);
+        buffer.put((byte) (active ? 1 : 0));
     }
+
 }
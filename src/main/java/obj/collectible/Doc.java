@@ -6,6 +6,8 @@ import static util.Const.GUI.*;
 
 import org.json.JSONObject;
 
+import java.nio.ByteBuffer;
+
 /**
  * Class for documents.
  * Extends abstract Collectible object class.
@@ -34,12 +36,22 @@ public class Doc extends Collectible {
         loadSprites(GameObject.DOC);
     }
 
+    /**
+     * Constructor for the Doc.
+     *
+     * @param buffer    binary level file positioned at the document record.
+     * @param level     associated Level object.
+     */
+    public Doc(ByteBuffer buffer, Level level) {
+        super(buffer, level);
+        loadSprites(GameObject.DOC);
+    }
+
     /**
      * Updates document's state.
      */
     public void update() {
         if (active && isTaken()) affect();
-        updateAnim();
     }
 
     /**
@@ -51,7 +63,7 @@ public class Doc extends Collectible {
             level.setDocsCount(level.getDocsCount()-1);
             active = false;
             if (level.getApp() != null) level.getApp().getAudio().playSound(Sounds.DOC);
-            if (level.getApp() != null) level.getApp().getLogger().game("Document " + this + " was taken. Documents remained: " + level.getDocsCount() + "."); // Logging
+            if (level.getApp() != null) level.getApp().getLogger().game("Document {} was taken. Documents remained: {}.", this, level.getDocsCount()); // Logging
         }
     }
 }
@@ -1,11 +1,11 @@
 package obj.collectible;
 
 import util.Level;
-import util.Image;
 import static util.Const.GUI.*;
 
 import org.json.JSONObject;
-import java.awt.image.BufferedImage;
+
+import java.nio.ByteBuffer;
 
 /**
  * Class for finish position.
@@ -21,9 +21,7 @@ public class Finish extends Collectible {
      */
     public Finish(int x, int y, Level level) {
         super(x, y, level);
-        animIndex = 0;
-        sprites = new BufferedImage[1][1][1];
-        sprites[0][0][0] = Image.loadImage(BLOCKS).getSubimage(0, 1*GameObject.W, GameObject.W, GameObject.H);
+        loadSprites(GameObject.FINISH);
     }
 
     /**
@@ -34,9 +32,18 @@ public class Finish extends Collectible {
      */
     public Finish(JSONObject json, Level level) {
         super(json, level);
-        animIndex = 0;
-        sprites = new BufferedImage[1][1][1];
-        sprites[0][0][0] = Image.loadImage(BLOCKS).getSubimage(0, 1*GameObject.W, GameObject.W, GameObject.H);
+        loadSprites(GameObject.FINISH);
+    }
+
+    /**
+     * Constructor for the Finish.
+     *
+     * @param buffer    binary level file positioned at the finish position record.
+     * @param level     associated Level object.
+     */
+    public Finish(ByteBuffer buffer, Level level) {
+        super(buffer, level);
+        loadSprites(GameObject.FINISH);
     }
 
     @Override
@@ -6,6 +6,8 @@ import static util.Const.GUI.*;
 
 import org.json.JSONObject;
 
+import java.nio.ByteBuffer;
+
 /**
  * Class for health boxes.
  * Extends abstract Collectible object class.
@@ -34,12 +36,22 @@ public class HealthBox extends Collectible {
         loadSprites(GameObject.HEALTH);
     }
 
+    /**
+     * Constructor for the HealthBox.
+     *
+     * @param buffer    binary level file positioned at the health box record.
+     * @param level     associated Level object.
+     */
+    public HealthBox(ByteBuffer buffer, Level level) {
+        super(buffer, level);
+        loadSprites(GameObject.HEALTH);
+    }
+
     /**
      * Updates health box's state.
      */
     public void update() {
         if (active && isTaken()) affect();
-        updateAnim();
     }
 
     /**
@@ -53,7 +65,7 @@ public class HealthBox extends Collectible {
             level.getPlayer().setHealth(tmpHealth);
             active = false;
             if (level.getApp() != null) level.getApp().getAudio().playSound(Sounds.HEALTH);
-            if (level.getApp() != null) level.getApp().getLogger().game("Health box " + this + " was taken. Current health amount: " + level.getPlayer().getHealth() + "."); // Logging
+            if (level.getApp() != null) level.getApp().getLogger().game("Health box {} was taken. Current health amount: {}.", this, level.getPlayer().getHealth()); // Logging
         }
     }
 }
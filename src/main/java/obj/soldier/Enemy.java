@@ -7,6 +7,8 @@ import static util.Const.GUI.*;
 
 import org.json.JSONObject;
 
+import java.nio.ByteBuffer;
+
 /**
  * Class for enemies.
  * Extends abstract Soldier object class.
@@ -42,20 +44,51 @@ public class Enemy extends Soldier {
     }
 
     /**
-     * Updates player position and its state.
+     * Constructor for the Enemy.
+     *
+     * @param buffer    binary level file positioned at the enemy record.
+     * @param level     associated Level object.
+     */
+    public Enemy(ByteBuffer buffer, Level level) {
+        super(buffer, level);
+        ai = new AI(level, this);
+        loadSprites(GameObject.ENEMY);
+    }
+
+    /**
+     * Lets the enemy look for the player.
+     * Perception is scheduled, so the enemy doesn't look every tick.
+     */
+    public void perceive() {
+        if (!dead) ai.perceive();
+    }
+
+    /**
+     * Updates enemy position and its state.
+     * Acts on the last perception every tick.
      */
     public void update() {
         if (!dead) {
-            ai.update();
+            ai.act();
             if (health == 0) { // Enemy was killed
                 walking = false;
                 shooting = false;
                 dead = true;
+                level.getGrid().remove(this); // Dead enemy doesn't block anything
                 level.setEnemiesCount(level.getEnemiesCount()-1);
                 if (level.getApp() != null) level.getApp().getAudio().playSound(Sounds.DIE);
-                if (level.getApp() != null) level.getApp().getLogger().game("Enemy " + this + " was killed. Enemies remained: " + level.getEnemiesCount() + "."); // Logging
+                if (level.getApp() != null) level.getApp().getLogger().game("Enemy {} was killed. Enemies remained: {}.", this, level.getEnemiesCount()); // Logging
             }
         }
         updateAnim();
     }
+
+    /**
+     * Returns Artificial Intelligence controlling the enemy.
+     *
+     * @return enemy AI (null for enemies placed in the editor).
+     */
+    public AI getAI() {
+        return ai;
+    }
 }
@@ -7,6 +7,9 @@ import static util.Const.GUI.*;
 
 import org.json.JSONObject;
 
+import java.awt.event.KeyEvent;
+import java.nio.ByteBuffer;
+
 /**
  * Class for player.
  * Extends abstract Soldier object class.
@@ -39,13 +42,24 @@ public class Player extends Soldier {
         loadSprites(GameObject.PLAYER);
     }
 
+    /**
+     * Constructor for the Player.
+     *
+     * @param buffer    binary level file positioned at the player record.
+     * @param level     associated Level object.
+     */
+    public Player(ByteBuffer buffer, Level level) {
+        super(buffer, level);
+        loadSprites(GameObject.PLAYER);
+    }
+
     /**
      * Updates player position and its state.
      */
     public void update() {
-        if (health == 0) { // Player was killed
+        if (health == 0 && !dead) { // Player was killed
             dead = true;
-            if (level.getApp() != null) level.getApp().getLogger().game("Player " + level.getPlayer() + " was killed."); // Logging
+            if (level.getApp() != null) level.getApp().getLogger().game("Player {} was killed.", this); // Logging
         }
 
         if (walking) {
@@ -59,7 +73,7 @@ public class Player extends Soldier {
 
     /**
      * Makes a shot.
-     * Method creates Bullet object in the actual level.
+     * Method creates bullet in the actual level.
      * Respects actual ammo amount.
      */
     public void shoot() {
@@ -70,4 +84,24 @@ public class Player extends Soldier {
             if (level.getApp() != null) level.getApp().getAudio().playSound(Sounds.EMPTY);
         }
     }
+
+    /**
+     * Applies player's control.
+     * Used both for keyboard and for replays, so both change the player the same way.
+     *
+     * @param key       key code of the control.
+     * @param pressed   true if the key was pressed, false if released.
+     */
+    public void control(int key, boolean pressed) {
+        switch (key) {
+            case KeyEvent.VK_UP -> setUp(pressed); // Go up
+            case KeyEvent.VK_DOWN -> setDown(pressed); // Go down
+            case KeyEvent.VK_LEFT -> setLeft(pressed); // Go to the left
+            case KeyEvent.VK_RIGHT -> setRight(pressed); // Go to the right
+            case KeyEvent.VK_SPACE -> { // Start or stop shooting
+                if (pressed) shoot();
+                else setShooting(false);
+            }
+        }
+    }
 }
@@ -2,10 +2,8 @@ package obj.soldier;
 
 import obj.GameObj;
 import obj.Movable;
-import obj.Obstacle;
-import org.json.JSONException;
-import util.Image;
 import util.Level;
+import util.Snapshot;
 import static util.Const.*;
 import static util.Const.GUI.*;
 import static util.Const.Soldier.*;
@@ -14,6 +12,7 @@ import org.json.JSONObject;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.nio.ByteBuffer;
 
 /**
  * The abstract class for alive game entities.
@@ -24,9 +23,11 @@ public abstract class Soldier extends GameObj implements Movable {
     protected int health; // soldier health amount
     protected int ammo; // soldier ammo count
     protected int direction; // curren movement direction
-    protected int animFrame, animIndex; // animation variables
+    protected int animIndex; // actual animation frame
+    protected long animStart; // simulation time when the actual animation frame started (nanosec)
     protected boolean walking, shooting, dead; // soldier activity states
     protected boolean up, down, left, right; // is soldier moving in specified direction
+    protected int cell = -1; // cell of the level collision grid (-1 if soldier isn't indexed)
 
     /**
      * Constructor for the Soldier.
@@ -40,7 +41,7 @@ public abstract class Soldier extends GameObj implements Movable {
         walking = false;
         shooting = false;
         dead = false;
-        hitbox = new Rectangle(x + 13, y + 13, 40, 40);
+        hitbox = new Rectangle(x + HITBOX_INSET, y + HITBOX_INSET, HITBOX, HITBOX);
     }
 
     /**
@@ -56,73 +57,90 @@ public abstract class Soldier extends GameObj implements Movable {
         walking = false;
         shooting = false;
         dead = health == 0;
-        hitbox = new Rectangle((int) x + 13, (int) y + 13, 40, 40);
+        hitbox = new Rectangle((int) x + HITBOX_INSET, (int) y + HITBOX_INSET, HITBOX, HITBOX);
     }
 
     /**
-     * Loads images and animations of soldier.
+     * Constructor for the Soldier.
      *
-     * @param type type of soldier (position in image file).
+     * @param buffer    binary level file positioned at the soldier record.
+     * @param level     associated Level object.
      */
-    protected void loadSprites(int type) {
-        BufferedImage tmp = Image.loadImage(SOLDIERS);
-        sprites = new BufferedImage[4][3][4];
-        for (int k = 0; k < sprites.length; ++k) { // Load all direction images
-            for (int j = 0; j < sprites[k].length; ++j) { // Load all action images
-                for (int i = 0; i < sprites[k][j].length; ++i) { // Load all animation frames
-                    sprites[k][j][i] = tmp.getSubimage((j * 4 + i) * GameObject.W, (k + type * 4) * GameObject.H, GameObject.W, GameObject.H);
-                }
-            }
-        }
+    public Soldier(ByteBuffer buffer, Level level) {
+        super(buffer.getFloat(), buffer.getFloat(), level);
+        direction = buffer.get();
+        health = buffer.getShort();
+        ammo = buffer.getShort();
+        walking = false;
+        shooting = false;
+        dead = health == 0;
+        hitbox = new Rectangle((int) x + HITBOX_INSET, (int) y + HITBOX_INSET, HITBOX, HITBOX);
     }
 
     /**
-     * Renders the soldier on the screen.
+     * Renders the soldier into the level snapshot.
      *
-     * @param graphics Graphics object used to draw the soldier.
+     * @param snapshot Snapshot object used to capture the soldier.
      */
-    public void render(Graphics graphics) {
+    public void render(Snapshot snapshot) {
+        BufferedImage[][][] sprites = getSprites();
         if (shooting) { // Draw shooting action
-            graphics.drawImage(sprites[direction][SHOOT][animIndex], (int) x, (int) y, SPRITE, SPRITE, null);
+            capture(snapshot, sprites[direction][SHOOT][animIndex]);
         } else if (walking) {  // Draw walking action
-            graphics.drawImage(sprites[direction][WALK][animIndex], (int) x, (int) y, SPRITE, SPRITE, null);
+            capture(snapshot, sprites[direction][WALK][animIndex]);
         } else if (dead) {  // Draw dying action
-            graphics.drawImage(sprites[direction][DIE][animIndex], (int) x, (int) y, SPRITE, SPRITE, null);
+            capture(snapshot, sprites[direction][DIE][animIndex]);
         } else {  // Draw standing action
-            graphics.drawImage(sprites[direction][WALK][0], (int) x, (int) y, SPRITE, SPRITE, null);
+            capture(snapshot, sprites[direction][WALK][0]);
         }
     }
 
     /**
      * Processes soldier animation.
+     * Frame changes after its duration of the level simulation time, so animation speed doesn't depend on UPS.
      */
     protected void updateAnim() {
-        animFrame++;
-        if (animFrame >= FPS / 2) {
-            animFrame = 0;
-            if (!dead) {animIndex = animIndex == 3 ? 0 : animIndex + 1;} else {animIndex = 3;}
+        long time = level.getTime();
+        if (time - animStart >= Animation.SOLDIER) {
+            animStart = time;
+            if (!dead) {animIndex = (animIndex + 1) % Animation.FRAMES;} else {animIndex = Animation.FRAMES - 1;}
         }
     }
 
     /**
      * Updates soldiers interaction hitbox.
+     * Hitbox object is kept, only its position is changed.
+     * Moves soldier to the new cell of the level collision grid.
      */
     protected void updateHitbox() {
-        hitbox = new Rectangle((int) x + 13, (int) y + 13, hitbox.width, hitbox.height);
+        hitbox.setLocation((int) x + HITBOX_INSET, (int) y + HITBOX_INSET); // Moved in place, so movement doesn't allocate
+        level.getGrid().move(this);
+    }
+
+    /**
+     * Sets new interaction area for soldier.
+     * Moves soldier to the new cell of the level collision grid.
+     *
+     * @param hitbox interaction area.
+     */
+    @Override
+    public void setHitbox(Rectangle hitbox) {
+        super.setHitbox(hitbox);
+        level.getGrid().move(this);
     }
 
     /**
      * Makes a shot.
-     * Method creates Bullet object in the actual level.
+     * Method creates bullet in the actual level.
      */
     public void shoot() {
         shooting = true;
 
         switch (direction) {
-            case UP -> level.createBullet((int) x + 32, (int) y, direction, level); // Shoot up
-            case DOWN -> level.createBullet((int) x + 22, (int) y + 55, direction, level); // Shoot down
-            case LEFT -> level.createBullet((int) x, (int) y + 22, direction, level); // Shoot left
-            case RIGHT -> level.createBullet((int) x + 55, (int) y + 32, direction, level); // Shoot right
+            case UP -> level.createBullet((int) x + 32, (int) y, direction); // Shoot up
+            case DOWN -> level.createBullet((int) x + 22, (int) y + 55, direction); // Shoot down
+            case LEFT -> level.createBullet((int) x, (int) y + 22, direction); // Shoot left
+            case RIGHT -> level.createBullet((int) x + 55, (int) y + 32, direction); // Shoot right
         }
 
         if (level.getApp() != null) level.getApp().getAudio().playSound(Sounds.SHOOT);
@@ -136,21 +154,9 @@ public abstract class Soldier extends GameObj implements Movable {
         boolean canMove = true;
 
         if (hitbox.x - Limits.SPEED > 0) { // Soldier doesn't cross left screen border
-            for (Obstacle obstacle : level.getObstacles()) { // Control of going through obstacle
-                boolean cornerOne = obstacle.getHitbox().contains(hitbox.getX() - 1, hitbox.getY());
-                boolean cornerTwo = obstacle.getHitbox().contains(hitbox.getX() - 1, hitbox.getY() + 40);
-                if (cornerOne || cornerTwo) {canMove = false; break;}
-            }
-
-            for (Enemy enemy : level.getEnemies()) { // Control of going through enemy
-                boolean cornerOne = enemy.getHitbox().contains(hitbox.getX() - 1, hitbox.getY());
-                boolean cornerTwo = enemy.getHitbox().contains(hitbox.getX() - 1, hitbox.getY() + 40);
-                if ((cornerOne || cornerTwo) && !enemy.isDead()) {canMove = false; break;}
-            }
-
-            // Control of going through player
-            boolean cornerOne = level.getPlayer().getHitbox().contains(hitbox.getX() - 1, hitbox.getY());
-            boolean cornerTwo = level.getPlayer().getHitbox().contains(hitbox.getX() - 1, hitbox.getY() + 40);
+            // Control of going through obstacle, alive enemy or player
+            boolean cornerOne = level.getGrid().isBlocked(hitbox.x - 1, hitbox.y);
+            boolean cornerTwo = level.getGrid().isBlocked(hitbox.x - 1, hitbox.y + HITBOX);
             if (cornerOne || cornerTwo) canMove = false;
         } else {canMove = false;}
 
@@ -169,22 +175,10 @@ public abstract class Soldier extends GameObj implements Movable {
     public void moveRight() {
         boolean canMove = true;
 
-        if (hitbox.x + Limits.SPEED < GAME_WIDTH - 40) {  // Soldier doesn't cross right screen border
-            for (Obstacle obstacle : level.getObstacles()) { // Control of going through obstacle
-                boolean cornerOne = obstacle.getHitbox().contains(hitbox.getX() + 41, hitbox.getY());
-                boolean cornerTwo = obstacle.getHitbox().contains(hitbox.getX() + 41, hitbox.getY() + 40);
-                if (cornerOne || cornerTwo) {canMove = false; break;}
-            }
-
-            for (Enemy enemy : level.getEnemies()) { // Control of going through enemy
-                boolean cornerOne = enemy.getHitbox().contains(hitbox.getX() + 41, hitbox.getY());
-                boolean cornerTwo = enemy.getHitbox().contains(hitbox.getX() + 41, hitbox.getY() + 40);
-                if ((cornerOne || cornerTwo) && !enemy.isDead()) {canMove = false;break;}
-            }
-
-            // Control of going through player
-            boolean cornerOne = level.getPlayer().getHitbox().contains(hitbox.getX() + 41, hitbox.getY());
-            boolean cornerTwo = level.getPlayer().getHitbox().contains(hitbox.getX() + 41, hitbox.getY() + 40);
+        if (hitbox.x + Limits.SPEED < GAME_WIDTH - HITBOX) {  // Soldier doesn't cross right screen border
+            // Control of going through obstacle, alive enemy or player
+            boolean cornerOne = level.getGrid().isBlocked(hitbox.x + HITBOX + 1, hitbox.y);
+            boolean cornerTwo = level.getGrid().isBlocked(hitbox.x + HITBOX + 1, hitbox.y + HITBOX);
             if (cornerOne || cornerTwo) canMove = false;
         } else { canMove = false;}
 
@@ -204,21 +198,9 @@ public abstract class Soldier extends GameObj implements Movable {
         boolean canMove = true;
 
         if (hitbox.y - Limits.SPEED > 3 * SPRITE) { // Soldier doesn't cross upper screen border
-            for (Obstacle obstacle : level.getObstacles()) { // Control of going through obstacle
-                boolean cornerOne = obstacle.getHitbox().contains(hitbox.getX(), hitbox.getY() - 1);
-                boolean cornerTwo = obstacle.getHitbox().contains(hitbox.getX() + 40, hitbox.getY() - 1);
-                if (cornerOne || cornerTwo) {canMove = false; break;}
-            }
-
-            for (Enemy enemy : level.getEnemies()) { // Control of going through enemy
-                boolean cornerOne = enemy.getHitbox().contains(hitbox.getX(), hitbox.getY() - 1);
-                boolean cornerTwo = enemy.getHitbox().contains(hitbox.getX() + 40, hitbox.getY() - 1);
-                if ((cornerOne || cornerTwo) && !enemy.isDead()) {canMove = false; break;}
-            }
-
-            // Control of going through player
-            boolean cornerOne = level.getPlayer().getHitbox().contains(hitbox.getX(), hitbox.getY() - 1);
-            boolean cornerTwo = level.getPlayer().getHitbox().contains(hitbox.getX() + 40, hitbox.getY() - 1);
+            // Control of going through obstacle, alive enemy or player
+            boolean cornerOne = level.getGrid().isBlocked(hitbox.x, hitbox.y - 1);
+            boolean cornerTwo = level.getGrid().isBlocked(hitbox.x + HITBOX, hitbox.y - 1);
             if (cornerOne || cornerTwo) canMove = false;
         } else {canMove = false;}
 
@@ -237,22 +219,10 @@ public abstract class Soldier extends GameObj implements Movable {
     public void moveDown() {
         boolean canMove = true;
 
-        if (hitbox.y + Limits.SPEED < GAME_HEIGHT - 40) { // Soldier doesn't cross bottom screen border
-            for (Obstacle obstacle : level.getObstacles()) {  // Control of going through obstacle
-                boolean cornerOne = obstacle.getHitbox().contains(hitbox.getX(), hitbox.getY() + 41);
-                boolean cornerTwo = obstacle.getHitbox().contains(hitbox.getX() + 40, hitbox.getY() + 41);
-                if (cornerOne || cornerTwo) {canMove = false; break;}
-            }
-
-            for (Enemy enemy : level.getEnemies()) { // Control of going through enemy
-                boolean cornerOne = enemy.getHitbox().contains(hitbox.getX(), hitbox.getY() + 41);
-                boolean cornerTwo = enemy.getHitbox().contains(hitbox.getX() + 40, hitbox.getY() + 41);
-                if ((cornerOne || cornerTwo) && !enemy.isDead()) {canMove = false; break;}
-            }
-
-            // Control of going through player
-            boolean cornerOne = level.getPlayer().getHitbox().contains(hitbox.getX(), hitbox.getY() + 41);
-            boolean cornerTwo = level.getPlayer().getHitbox().contains(hitbox.getX() + 40, hitbox.getY() + 41);
+        if (hitbox.y + Limits.SPEED < GAME_HEIGHT - HITBOX) { // Soldier doesn't cross bottom screen border
+            // Control of going through obstacle, alive enemy or player
+            boolean cornerOne = level.getGrid().isBlocked(hitbox.x, hitbox.y + HITBOX + 1);
+            boolean cornerTwo = level.getGrid().isBlocked(hitbox.x + HITBOX, hitbox.y + HITBOX + 1);
             if (cornerOne || cornerTwo) canMove = false;
         } else {canMove = false;}
 
@@ -265,23 +235,33 @@ public abstract class Soldier extends GameObj implements Movable {
     }
 
     /**
-     * Makes JSON object from the soldier to write into the file.
+     * Writes the soldier record into binary level file.
      *
-     * @return JSON object for writing
+     * @param buffer binary level file.
      */
-    public JSONObject getJSON(int type) {
-        JSONObject json = new JSONObject();
-        try {
-            json.put(JSON.X, x);
-            json.put(JSON.Y, y);
-            json.put(JSON.DIRECTION, direction);
-            json.put(JSON.HEALTH, health);
-            if (type == GameObject.PLAYER) json.put(JSON.AMMO, ammo);
-        } catch (JSONException e) {
-            level.getApp().getLogger().error("Unable to write JSON object!"); // Logging
-        }
+    public void write(ByteBuffer buffer) {
+        buffer.putFloat(x).putFloat(y);
+        buffer.put((byte) direction);
+        buffer.putShort((short) health).putShort((short) ammo);
+    }
+
+    /**
+     * Returns cell of the level collision grid where soldier is indexed.
+     *
+     * @return  cell index, -1 if soldier isn't indexed.
+     */
+    public int getCell() {
+        return cell;
+    }
 
-        return json;
+    /**
+     * Sets cell of the level collision grid where soldier is indexed.
+     * Used only by the collision grid.
+     *
+     * @param cell  cell index, -1 if soldier isn't indexed.
+     */
+    public void setCell(int cell) {
+        this.cell = cell;
     }
 
     /**
@@ -380,7 +360,7 @@ public abstract class Soldier extends GameObj implements Movable {
      * @param shooting  true if soldier is shooting, false otherwise.
      */
     public void setShooting(boolean shooting) {
-        if (!shooting) animFrame = 0;
+        if (!shooting) animStart = level.getTime();
         this.shooting = shooting;
     }
 
@@ -391,7 +371,7 @@ public abstract class Soldier extends GameObj implements Movable {
      */
     public void setUp(boolean up) {
         walking = up || down || left || right; // Calculate walking state
-        if (!walking) animFrame = 0; // Reset animation frame
+        if (!walking) animStart = level.getTime(); // Restart animation frame
         this.up = up;
     }
 
@@ -402,7 +382,7 @@ public abstract class Soldier extends GameObj implements Movable {
      */
     public void setDown(boolean down) {
         walking = up || down || left || right; // Calculate walking state
-        if (!walking) animFrame = 0; // Reset animation frame
+        if (!walking) animStart = level.getTime(); // Restart animation frame
         this.down = down;
     }
 
@@ -413,7 +393,7 @@ public abstract class Soldier extends GameObj implements Movable {
      */
     public void setLeft(boolean left) {
         walking = up || down || left || right; // Calculate walking state
-        if (!walking) animFrame = 0; // Reset animation frame
+        if (!walking) animStart = level.getTime(); // Restart animation frame
         this.left = left;
     }
 
@@ -424,7 +404,7 @@ public abstract class Soldier extends GameObj implements Movable {
      */
     public void setRight(boolean right) {
         walking = up || down || left || right; // Calculate walking state
-        if (!walking) animFrame = 0; // Reset animation frame
+        if (!walking) animStart = level.getTime(); // Restart animation frame
         this.right = right;
     }
 }
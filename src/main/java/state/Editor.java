@@ -14,9 +14,12 @@ import static util.Const.*;
 import static util.Const.GUI.*;
 
 import java.awt.Graphics;
+import java.awt.event.InputEvent;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
 import java.awt.image.BufferedImage;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * Editor game state.
@@ -34,6 +37,7 @@ public class Editor extends State implements StateInterface {
     private final ButtonEdit[] buttonsEdit = new ButtonEdit[7]; // state object buttons
     private int[][] mask; // level mask (where objects can be placed)
     private int active; // active object to place at the level
+    private final Queue<InputEvent> inputs = new ConcurrentLinkedQueue<>(); // editing events waiting for the update thread
 
     /**
      * Constructor for the Editor.
@@ -89,12 +93,20 @@ public class Editor extends State implements StateInterface {
                 level.getApp().getLogger().editor("Created new level for edit."); // Logging
             } else { // Open existing level to edit
                 level = new Level(this.getApp().getLoad().getActive(), "lvl", app);
-                level.getApp().getLogger().editor("Opened level '" + this.getApp().getLoad().getActive() + "' for edit."); // Logging
+                level.getApp().getLogger().editor("Opened level '{}' for edit.", this.getApp().getLoad().getActive()); // Logging
             }
             createMask();
             States.stage = 0;
         }
 
+        if (level != null) { // Apply editing events and hand over changed level to render
+            for (InputEvent e = inputs.poll(); e != null; e = inputs.poll()) {
+                if (e instanceof MouseEvent mouse) createObject(mouse.getX(), mouse.getY()); // Place object
+                else changeAttributes((KeyEvent) e); // Change player attributes
+            }
+            level.publish();
+        }
+
         // Update buttons
         for (ButtonSmall button: buttons) button.update();
         for (ButtonEdit button: buttonsEdit) button.update();
@@ -130,6 +142,8 @@ public class Editor extends State implements StateInterface {
                     for (ButtonEdit button : buttonsEdit) button.render(graphics);
                 }
             }
+
+            this.getApp().getOverlay().render(graphics); // Render performance overlay on top
         }
     }
 
@@ -186,13 +200,14 @@ public class Editor extends State implements StateInterface {
                     mask[(int)level.getPlayer().getY()/SPRITE][(int)level.getPlayer().getX()/SPRITE]++;
                     level.getPlayer().setPos(x / SPRITE * SPRITE, y / SPRITE * SPRITE);
                     mask[y/SPRITE][x/SPRITE]--;
-                    level.getApp().getLogger().editor("Player " + level.getPlayer() + " was placed at [" + x + "," + y + "]."); // Logging
+                    level.getApp().getLogger().editor("Player {} was placed at [{},{}].", level.getPlayer(), x, y); // Logging
                 }
                 case GameObject.FINISH -> { // Place finish position (can be only one)
                     mask[(int)level.getFinish().getY()/SPRITE][(int)level.getFinish().getX()/SPRITE]++;
                     level.getFinish().setPos(x / SPRITE * SPRITE, y / SPRITE * SPRITE);
+                    level.invalidateLayer(); // Finish is drawn in the static layer
                     mask[y/SPRITE][x/SPRITE]--;
-                    level.getApp().getLogger().editor("Finish position " + level.getFinish() + " was placed at [" + x + "," + y + "]."); // Logging
+                    level.getApp().getLogger().editor("Finish position {} was placed at [{},{}].", level.getFinish(), x, y); // Logging
                 }
                 case GameObject.ENEMY -> { // Place enemy (can't be more than maximum amount)
                     level.createEnemy(x / SPRITE * SPRITE, y / SPRITE * SPRITE);
@@ -312,7 +327,7 @@ public class Editor extends State implements StateInterface {
     @Override
     public void mouseReleased(MouseEvent e) {
         switch (States.stage) {
-            case Stages.Editor.MAIN -> createObject(e.getX(), e.getY()); // Place object
+            case Stages.Editor.MAIN -> inputs.add(e); // Place object (in update thread)
             case Stages.Editor.PAUSE -> {
                 for (int i = 0; i < 2; ++i) { // Check if buttons pressed
                     if (isButton(e, buttons[i]) && buttons[i].isMousePressed()) buttons[i].buttonAction();
@@ -326,7 +341,7 @@ public class Editor extends State implements StateInterface {
                         if (i == 3 || checkText(this.getApp().getWindow().getTextField())) { // Not saving or filename is ok
                             if (i == 2) {
                                 level.saveLevel(this.getApp().getWindow().getTextField(), "lvl");
-                                level.getApp().getLogger().editor("Level was saved as '" + this.getApp().getWindow().getTextField() + "'."); // Logging
+                                level.getApp().getLogger().editor("Level was saved as '{}'.", this.getApp().getWindow().getTextField()); // Logging
                             } else {
                                 level.getApp().getLogger().editor("Exit without saving."); // Logging
                             }
@@ -361,21 +376,29 @@ public class Editor extends State implements StateInterface {
 
     /**
      * Handles key presses.
+     * Player attributes changes are passed to the update thread.
      *
      * @param e the KeyEvent object representing the key press.
      */
     @Override
     public void keyPressed(KeyEvent e) {
-        if (States.stage == Stages.Editor.MAIN) { // Change player attributes only in main editor state
-            int tmpHealth = level.getPlayer().getHealth();
-            int tmpAmmo = level.getPlayer().getAmmo();
+        if (States.stage == Stages.Editor.MAIN) inputs.add(e); // Change player attributes only in main editor state
+    }
 
-            switch (e.getKeyCode()) {
-                case KeyEvent.VK_UP -> {if (tmpHealth != Limits.HEALTH_MAX) level.getPlayer().setHealth(tmpHealth + 1);} // Increase health
-                case KeyEvent.VK_DOWN -> {if (tmpHealth != Limits.HEALTH_MIN) level.getPlayer().setHealth(tmpHealth - 1);} // Decrease health
-                case KeyEvent.VK_LEFT -> {if (tmpAmmo != Limits.AMMO_MIN) level.getPlayer().setAmmo(tmpAmmo - 1);} // Increase ammo
-                case KeyEvent.VK_RIGHT -> {if (tmpAmmo != Limits.AMMO_MAX) level.getPlayer().setAmmo(tmpAmmo + 1);} // Decrease ammo
-            }
+    /**
+     * Changes player's health or ammo according to the pressed key.
+     *
+     * @param e the KeyEvent object representing the key press.
+     */
+    private void changeAttributes(KeyEvent e) {
+        int tmpHealth = level.getPlayer().getHealth();
+        int tmpAmmo = level.getPlayer().getAmmo();
+
+        switch (e.getKeyCode()) {
+            case KeyEvent.VK_UP -> {if (tmpHealth != Limits.HEALTH_MAX) level.getPlayer().setHealth(tmpHealth + 1);} // Increase health
+            case KeyEvent.VK_DOWN -> {if (tmpHealth != Limits.HEALTH_MIN) level.getPlayer().setHealth(tmpHealth - 1);} // Decrease health
+            case KeyEvent.VK_LEFT -> {if (tmpAmmo != Limits.AMMO_MIN) level.getPlayer().setAmmo(tmpAmmo - 1);} // Increase ammo
+            case KeyEvent.VK_RIGHT -> {if (tmpAmmo != Limits.AMMO_MAX) level.getPlayer().setAmmo(tmpAmmo + 1);} // Decrease ammo
         }
     }
 
@@ -388,8 +411,8 @@ public class Editor extends State implements StateInterface {
     public void keyReleased(KeyEvent e) {
         if (States.stage == Stages.Editor.MAIN) { // "Pause" or "choose object" only from main editor state
             switch (e.getKeyCode()) {
-                case KeyEvent.VK_UP, KeyEvent.VK_DOWN -> level.getApp().getLogger().editor("Player's health was set up to " + level.getPlayer().getHealth() + "."); // Logging
-                case KeyEvent.VK_LEFT, KeyEvent.VK_RIGHT -> level.getApp().getLogger().editor("Player's ammo was set up to " + level.getPlayer().getAmmo() + "."); // Logging
+                case KeyEvent.VK_UP, KeyEvent.VK_DOWN -> level.getApp().getLogger().editor("Player's health was set up to {}.", level.getPlayer().getHealth()); // Logging
+                case KeyEvent.VK_LEFT, KeyEvent.VK_RIGHT -> level.getApp().getLogger().editor("Player's ammo was set up to {}.", level.getPlayer().getAmmo()); // Logging
                 case KeyEvent.VK_ESCAPE -> States.stage = Stages.Editor.PAUSE; // Pause game
                 case KeyEvent.VK_SPACE -> States.stage = Stages.Editor.OBJECTS; // Change an active object to place
             }
@@ -4,6 +4,7 @@ import gui.ButtonSmall;
 import main.Application;
 import util.Level;
 import util.Image;
+import util.Replay;
 import static util.Const.*;
 import static util.Const.GUI.*;
 
@@ -11,6 +12,9 @@ import java.awt.*;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
 import java.awt.image.BufferedImage;
+import java.io.UncheckedIOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * Game game state.
@@ -22,10 +26,16 @@ import java.awt.image.BufferedImage;
  * EXIT     - level save screen (stage).
  * WIN      - victory screen (stage).
  * LOSE     - defeat screen (stage).
+ * Every played game is recorded as a replay, which can be watched later.
  */
 public class Game extends State implements StateInterface {
     private final BufferedImage[] popups = new BufferedImage[4]; // state submenus
     private final ButtonSmall[] buttons = new ButtonSmall[6]; // state submenu buttons
+    private final Queue<KeyEvent> inputs = new ConcurrentLinkedQueue<>(); // key events waiting for the update thread
+    private static final int[] DIRECTIONS = {KeyEvent.VK_UP, KeyEvent.VK_DOWN, KeyEvent.VK_LEFT, KeyEvent.VK_RIGHT}; // movement controls
+    private Replay recording; // recording of the actual game
+    private volatile Replay playback; // watched replay (null when the player plays)
+    private int cursor; // next control of the watched replay
 
     /**
      * Constructor for the Game.
@@ -68,28 +78,42 @@ public class Game extends State implements StateInterface {
     public void update() {
         switch (States.stage) {
             case Stages.Game.NEW, Stages.Game.LOAD -> {
-                if (States.stage == Stages.Game.NEW) { // Load new game to play
+                if (playback != null) { // Load recorded game to watch
+                    level = playback.createLevel(app);
+                    cursor = 0;
+                    buttons[4] = new ButtonSmall(Buttons.Small.AGAIN, Buttons.Pause.X_POS_2, Buttons.Pause.Y_POS_2_1, States.GAME, Stages.Game.NEW);
+                    level.getApp().getLogger().game("Replay of level '{}' was loaded.", playback.getName()); // Logging
+                } else if (States.stage == Stages.Game.NEW) { // Load new game to play
                     level = new Level(this.getApp().getLoad().getActive(), "lvl", app);
                     buttons[4] = new ButtonSmall(Buttons.Small.AGAIN, Buttons.Pause.X_POS_2, Buttons.Pause.Y_POS_2_1, States.GAME, Stages.Game.NEW);
-                    level.getApp().getLogger().game("New game was loaded from level '" + this.getApp().getLoad().getActive() + "'."); // Logging
+                    level.getApp().getLogger().game("New game was loaded from level '{}'.", this.getApp().getLoad().getActive()); // Logging
                 } else { // Load saved game to play
                     level = new Level(this.getApp().getLoad().getActive(), "svd", app);
                     buttons[4] = new ButtonSmall(Buttons.Small.AGAIN, Buttons.Pause.X_POS_2, Buttons.Pause.Y_POS_2_1, States.GAME, Stages.Game.LOAD);
-                    level.getApp().getLogger().game("Saved game was loaded from '" + this.getApp().getLoad().getActive() + "'."); // Logging
+                    level.getApp().getLogger().game("Saved game was loaded from '{}'.", this.getApp().getLoad().getActive()); // Logging
                 }
+                recording = playback == null ? new Replay(this.getApp().getLoad().getActive(), States.stage == Stages.Game.NEW ? "lvl" : "svd", level.getSeed()) : null;
                 States.stage = 0;
-                level.getApp().getLogger().game("Enemies alive: " + level.getEnemiesCount() + ". Documents to collect: " + level.getDocsCount() + "."); // Logging
+                level.getApp().getLogger().game("Enemies alive: {}. Documents to collect: {}.", level.getEnemiesCount(), level.getDocsCount()); // Logging
             }
             case Stages.Game.PLAY -> { // Gaming process
+                for (KeyEvent e = inputs.poll(); e != null; e = inputs.poll()) processKey(e); // Apply player's controls
+                if (playback != null) cursor = playback.apply(level, cursor); // Apply recorded controls
                 level.update();
                 checkFinish();
+                if (States.stage == Stages.Game.PLAY && playback != null && playback.isFinished(level)) { // Nothing more was recorded
+                    States.stage = Stages.Game.PAUSE;
+                    level.getApp().getLogger().game("Replay of level '{}' is over.", playback.getName()); // Logging
+                }
+                if (States.stage != Stages.Game.PLAY && recording != null) { // Stop player movement when the game is paused or over
+                    for (int key : DIRECTIONS) control(key, false);
+                    saveReplay();
+                }
             }
-            default -> { // Stop player movement when the game is paused
+            default -> {
                 for (ButtonSmall button: buttons) if (button != null) button.update(); // Update buttons
-                level.getPlayer().setUp(false);
-                level.getPlayer().setDown(false);
-                level.getPlayer().setLeft(false);
-                level.getPlayer().setRight(false);
+                inputs.clear();
+                level.publish();
             }
         }
     }
@@ -130,6 +154,8 @@ public class Game extends State implements StateInterface {
                 buttons[5].render(graphics);
             }
         }
+
+        if (level != null) this.getApp().getOverlay().render(graphics); // Render performance overlay on top
     }
 
     /**
@@ -141,12 +167,12 @@ public class Game extends State implements StateInterface {
             // Mission complete
             States.stage = Stages.Game.WIN;
             this.getApp().getAudio().playSound(Sounds.WIN);
-            level.getApp().getLogger().game("Level '" + this.getApp().getLoad().getActive() + "' was successfully finished."); // Logging
+            level.getApp().getLogger().game("Level '{}' was successfully finished.", this.getApp().getLoad().getActive()); // Logging
         } else if (level.getPlayer().isDead()) {
             // Mission failed
             States.stage = Stages.Game.LOSE;
             this.getApp().getAudio().playSound(Sounds.DEFEAT);
-            level.getApp().getLogger().game("Level '" + this.getApp().getLoad().getActive() + "' was failed."); // Logging
+            level.getApp().getLogger().game("Level '{}' was failed.", this.getApp().getLoad().getActive()); // Logging
         }
     }
 
@@ -238,11 +264,12 @@ public class Game extends State implements StateInterface {
                         if (i == 3 || checkText(this.getApp().getWindow().getTextField())) { // Not saving or filename is ok
                             if (i == 2) {
                                 level.saveLevel(this.getApp().getWindow().getTextField(), "svd");
-                                level.getApp().getLogger().game("Level was saved as '" + this.getApp().getWindow().getTextField() + "'."); // Logging
+                                level.getApp().getLogger().game("Level was saved as '{}'.", this.getApp().getWindow().getTextField()); // Logging
                             } else {
                                 level.getApp().getLogger().game("Exit without saving."); // Logging
                             }
                             this.getApp().getLoad().setActive(null);
+                            playback = null;
                             buttons[i].buttonAction();
                             if (States.state == States.MENU || States.state == States.LOAD) this.getApp().getAudio().playSong(Sounds.MENU); // Play menu song if returned to menu
                         } else { // Saving with invalid filename
@@ -260,6 +287,7 @@ public class Game extends State implements StateInterface {
                     buttons[i].setMousePressed(false);
                     if (States.state == States.MENU) {
                         level = null;
+                        playback = null;
                         this.getApp().getLoad().setActive(null);
                         this.getApp().getAudio().playSong(Sounds.MENU); // Play menu song if exited to menu
                     }
@@ -270,40 +298,84 @@ public class Game extends State implements StateInterface {
 
     /**
      * Handles key presses.
+     * Player's controls are passed to the update thread.
      *
      * @param e the KeyEvent object representing the key press.
      */
     @Override
     public void keyPressed(KeyEvent e) {
-        if (States.stage == Stages.Game.PLAY) { // Control player only in main gaming state
-            switch (e.getKeyCode()) {
-                case KeyEvent.VK_UP -> level.getPlayer().setUp(true); // Go up
-                case KeyEvent.VK_DOWN -> level.getPlayer().setDown(true); // Go down
-                case KeyEvent.VK_LEFT -> level.getPlayer().setLeft(true); // Go to the left
-                case KeyEvent.VK_RIGHT -> level.getPlayer().setRight(true); // Go to the right
-                case KeyEvent.VK_SPACE -> level.getPlayer().shoot(); // Start shooting
-            }
-        }
+        if (States.stage == Stages.Game.PLAY) inputs.add(e); // Control player only in main gaming state
     }
 
     /**
      * Handles key releases.
+     * Player's controls are passed to the update thread.
      *
      * @param e the KeyEvent object representing the key release.
      */
     @Override
     public void keyReleased(KeyEvent e) {
         if (States.stage == Stages.Game.PLAY) {  // Control player only in main gaming state
-            switch (e.getKeyCode()) {
-                case KeyEvent.VK_UP -> level.getPlayer().setUp(false); // Stop going up
-                case KeyEvent.VK_DOWN -> level.getPlayer().setDown(false); // Stop going down
-                case KeyEvent.VK_LEFT -> level.getPlayer().setLeft(false); // Stop going to the left
-                case KeyEvent.VK_RIGHT -> level.getPlayer().setRight(false); // Stop going to the right
-                case KeyEvent.VK_SPACE -> level.getPlayer().setShooting(false); // Stop shooting
-                case KeyEvent.VK_ESCAPE -> States.stage = Stages.Game.PAUSE; // Pause game
-            }
+            inputs.add(e);
         } else {
             if (e.getKeyCode() == KeyEvent.VK_ESCAPE && States.stage == Stages.Game.PAUSE) States.stage = Stages.Game.PLAY; // Return to main gaming state
         }
     }
+
+    /**
+     * Applies key press or release to the player.
+     * Called from the update thread, so the level is changed by one thread only.
+     *
+     * @param e the KeyEvent object representing the key press or release.
+     */
+    private void processKey(KeyEvent e) {
+        boolean pressed = e.getID() == KeyEvent.KEY_PRESSED;
+        if (!pressed && e.getKeyCode() == KeyEvent.VK_ESCAPE) States.stage = Stages.Game.PAUSE; // Pause game
+        else if (playback == null) control(e.getKeyCode(), pressed); // Watched player isn't controlled by keyboard
+    }
+
+    /**
+     * Applies player's control and records it to the replay.
+     *
+     * @param key       key code of the control.
+     * @param pressed   true if the key was pressed, false if released.
+     */
+    private void control(int key, boolean pressed) {
+        recording.record(level.getTick(), key, pressed);
+        level.getPlayer().control(key, pressed);
+    }
+
+    /**
+     * Saves recording of the actual game to the replays folder.
+     * Replay is rewritten every time the game is paused, so it always contains the whole game.
+     * Replays are kept in subfolders by the level folder, so new and saved games of the same name don't collide.
+     */
+    private void saveReplay() {
+        recording.finish(level.getTick());
+        try {
+            recording.save(Replays.DIR + "/" + recording.getDir() + "/" + recording.getName() + ".rpl");
+        } catch (UncheckedIOException e) {
+            level.getApp().getLogger().error("Unable to save replay. {}", e.getMessage()); // Logging
+        }
+    }
+
+    /**
+     * Starts watching of the recorded game.
+     * Player is controlled by the replay, keyboard can only pause it.
+     * Replay of a level file changed since the recording is refused, it wouldn't show the recorded game.
+     *
+     * @param replay recorded game to watch.
+     */
+    public void watch(Replay replay) {
+        if (replay.isLevelChanged()) {
+            this.getApp().getLogger().error("Replay refused, level '{}' was changed since the recording.", replay.getName()); // Logging
+            this.getApp().getAudio().playSound(Sounds.ERROR);
+            return;
+        }
+        playback = replay;
+        this.getApp().getLoad().setActive(replay.getName());
+        this.getApp().getAudio().playSong(Sounds.GAME);
+        States.stage = Stages.Game.NEW;
+        States.state = States.GAME;
+    }
 }
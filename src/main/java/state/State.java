@@ -6,6 +6,7 @@ import main.Application;
 import util.Const;
 import util.Image;
 import util.Level;
+import util.Snapshot;
 
 import java.awt.*;
 import java.awt.event.MouseEvent;
@@ -49,21 +50,23 @@ public abstract class State {
      * @param graphics Graphics object used to draw the digit.
      */
     protected void renderDigits(Graphics graphics) {
+        Snapshot snapshot = level.getSnapshot(); // Numbers of the drawn level snapshot
+
         // Player health
-        graphics.drawImage(digits[level.getPlayer().getHealth() / 10], Const.GUI.Digits.X_POS_1_1, Const.GUI.Digits.Y_POS_1, null);
-        graphics.drawImage(digits[level.getPlayer().getHealth() % 10], Const.GUI.Digits.X_POS_1_2, Const.GUI.Digits.Y_POS_1, null);
+        graphics.drawImage(digits[snapshot.getHealth() / 10], Const.GUI.Digits.X_POS_1_1, Const.GUI.Digits.Y_POS_1, null);
+        graphics.drawImage(digits[snapshot.getHealth() % 10], Const.GUI.Digits.X_POS_1_2, Const.GUI.Digits.Y_POS_1, null);
 
         // Player ammo
-        graphics.drawImage(digits[level.getPlayer().getAmmo() / 10], Const.GUI.Digits.X_POS_1_1, Const.GUI.Digits.Y_POS_2, null);
-        graphics.drawImage(digits[level.getPlayer().getAmmo() % 10], Const.GUI.Digits.X_POS_1_2, Const.GUI.Digits.Y_POS_2, null);
+        graphics.drawImage(digits[snapshot.getAmmo() / 10], Const.GUI.Digits.X_POS_1_1, Const.GUI.Digits.Y_POS_2, null);
+        graphics.drawImage(digits[snapshot.getAmmo() % 10], Const.GUI.Digits.X_POS_1_2, Const.GUI.Digits.Y_POS_2, null);
 
         // Enemies count
-        graphics.drawImage(digits[level.getEnemiesCount() / 10], Const.GUI.Digits.X_POS_2_1, Const.GUI.Digits.Y_POS_1, null);
-        graphics.drawImage(digits[level.getEnemiesCount() % 10], Const.GUI.Digits.X_POS_2_2, Const.GUI.Digits.Y_POS_1, null);
+        graphics.drawImage(digits[snapshot.getEnemies() / 10], Const.GUI.Digits.X_POS_2_1, Const.GUI.Digits.Y_POS_1, null);
+        graphics.drawImage(digits[snapshot.getEnemies() % 10], Const.GUI.Digits.X_POS_2_2, Const.GUI.Digits.Y_POS_1, null);
 
         // Documents count
-        graphics.drawImage(digits[level.getDocsCount() / 10], Const.GUI.Digits.X_POS_2_1, Const.GUI.Digits.Y_POS_2, null);
-        graphics.drawImage(digits[level.getDocsCount() % 10], Const.GUI.Digits.X_POS_2_2, Const.GUI.Digits.Y_POS_2, null);
+        graphics.drawImage(digits[snapshot.getDocs() / 10], Const.GUI.Digits.X_POS_2_1, Const.GUI.Digits.Y_POS_2, null);
+        graphics.drawImage(digits[snapshot.getDocs() % 10], Const.GUI.Digits.X_POS_2_2, Const.GUI.Digits.Y_POS_2, null);
     }
 
     /**
@@ -1,12 +1,12 @@
 package util;
 
 import obj.soldier.Enemy;
-import obj.Obstacle;
 import obj.soldier.Player;
 import static util.Const.*;
 import static util.Const.Soldier.*;
 
-import java.util.Random;
+import java.awt.Rectangle;
+import java.util.SplittableRandom;
 
 /**
  * Artificial Intelligence for the game.
@@ -15,8 +15,14 @@ import java.util.Random;
 public class AI {
     private final Level level; // associated level
     private final Enemy enemy; // associated enemy
+    private final SplittableRandom random; // own random generator split from the level one
     private int direction; // movement direction
     private int frame; // animation frame
+    private final int slot; // perception slot given by the scheduler
+    private boolean far; // enemy was out of the player's range at the last perception
+    private boolean engaged; // enemy saw the player at the last perception
+    private boolean chasing; // enemy follows the flow field to the player
+    private boolean pending; // perception was postponed over the tick budget
 
     /**
      * Constructor for the AI.
@@ -27,109 +33,104 @@ public class AI {
     public AI(Level level, Enemy enemy) {
         this.level = level;
         this.enemy = enemy;
+        this.random = level.getRandom().split();
+        this.slot = level.getScheduler().register();
         setRandomDirection();
         frame = 0;
     }
 
     /**
-     * Controls enemy.
+     * Controls enemy with fresh perception.
+     * Doesn't respect the perception scheduling.
      */
     public void update() {
-        if (isPlayerVisible(enemy.getDirection()) && isPlayerNear()) {
+        look();
+        act();
+    }
+
+    /**
+     * Looks for the player if the scheduler allows it in this tick.
+     * Between perceptions the enemy keeps its last decision.
+     */
+    public void perceive() {
+        AIScheduler scheduler = level.getScheduler();
+        if (!pending && !scheduler.isDue(slot, far, level.getTick())) return;
+        pending = !scheduler.acquire(); // Try again next tick if the budget is spent
+        if (!pending) look();
+    }
+
+    /**
+     * Acts on the last decision.
+     * Called every tick, so movement stays smooth whatever the perception rate is.
+     */
+    public void act() {
+        if (engaged) {
             // Attack player if he is nearby and visible
             attackPlayer();
         } else {
-            // Stop attacking and start patrolling area
+            // Stop attacking and chase the player or patrol area
             enemy.setShooting(false);
-            patrol();
+            if (chasing) chase();
+            else patrol();
         }
     }
 
+    /**
+     * Decides whether to attack, chase the player or patrol.
+     * Far enemies look for the player too (at their reduced perception rate), so they still turn toward
+     * the visible player, but only enemies in the range attack.
+     */
+    private void look() {
+        double distance = getPlayerDistance();
+        far = distance >= Limits.RANGE;
+        boolean visible = isPlayerVisible(enemy.getDirection()); // Turns enemy toward the visible player
+        engaged = !far && visible;
+        chasing = !engaged && distance < Limits.CHASE;
+    }
+
     /**
      * Determines if player can be seen by this enemy.
+     * View is checked by the level line of sight service.
      *
      * @param direction  current direction of enemy's view.
      * @return true if player can be seen by enemy, false otherwise.
      */
     private boolean isPlayerVisible(int direction) {
         Player player = level.getPlayer();
+        Sight sight = level.getSight();
 
         // Player is visible above (only if enemy don't go down)
         if (direction != DOWN && player.getX() - 15 <= enemy.getX() && enemy.getX() <= player.getX() + 15 && player.getY() < enemy.getY()) {
-            boolean visible = true;
-            for (Obstacle obstacle : level.getObstacles()) { // Control if some obstacle is blocking the view
-                boolean betweenX = obstacle.getX() - 32 <= enemy.getX() && enemy.getX() <= obstacle.getX() + 32 ;
-                boolean betweenY = obstacle.getY() > player.getY() && obstacle.getY() < enemy.getY();
-                if (betweenX && betweenY) {visible = false; break;}
-            }
-            for (Enemy enemy : level.getEnemies()) { // Control if some other alive enemy is blocking the view
-                boolean betweenX = enemy.getX() - 32 <= this.enemy.getX() && this.enemy.getX() <= enemy.getX() + 32 ;
-                boolean betweenY = enemy.getY() > player.getY() && this.enemy.getY() < enemy.getY();
-                if (!enemy.isDead() && betweenX && betweenY) {visible = false; break;}
-            }
-            if (visible) {enemy.setDirection(UP); return true;} // Nothing blocks the view - player is finally visible
+            if (sight.isClearVertical(enemy.getX(), player.getY(), enemy.getY())) {enemy.setDirection(UP); return true;} // Nothing blocks the view
         }
 
         // Player is visible below (only if enemy don't go up)
         if (direction != UP && player.getX() - 5 <= enemy.getX() && enemy.getX() <= player.getX() + 25 && player.getY() > enemy.getY()) {
-            boolean visible = true;
-            for (Obstacle obstacle : level.getObstacles()) { // Control if some obstacle blocking the view
-                boolean betweenX = obstacle.getX() - 32 <= enemy.getX() && enemy.getX() <= obstacle.getX() + 32 ;
-                boolean betweenY = obstacle.getY() > enemy.getY() && obstacle.getY() < player.getY();
-                if (betweenX && betweenY) {visible = false; break;}
-            }
-            for (Enemy enemy : level.getEnemies()) { // Control if some other alive enemy is blocking the view
-                boolean betweenX = enemy.getX() - 32 <= this.enemy.getX() && this.enemy.getX() <= enemy.getX() + 32 ;
-                boolean betweenY = enemy.getY() > this.enemy.getY() && enemy.getY() < player.getY();
-                if (!enemy.isDead() && betweenX && betweenY) {visible = false; break;}
-            }
-            if (visible) {enemy.setDirection(DOWN); return true;} // Nothing blocks the view - player is finally visible
+            if (sight.isClearVertical(enemy.getX(), enemy.getY(), player.getY())) {enemy.setDirection(DOWN); return true;} // Nothing blocks the view
         }
 
         // Player is visible on the left (only if enemy don't go right)
         if (direction != RIGHT && player.getY() - 5 <= enemy.getY() && enemy.getY() <= player.getY() + 25 && player.getX() < enemy.getX()) {
-            boolean visible = true;
-            for (Obstacle obstacle : level.getObstacles()) { // Control if some obstacle blocking the view
-                boolean betweenX = obstacle.getX() > player.getX() && obstacle.getX() < enemy.getX();
-                boolean betweenY = obstacle.getY() - 32 <= enemy.getY() && enemy.getY() <= obstacle.getY() + 32 ;
-                if (betweenX && betweenY) {visible = false; break;}
-            }
-            for (Enemy enemy : level.getEnemies()) { // Control if some other alive enemy is blocking the view
-                boolean betweenX = enemy.getX() > player.getX() && enemy.getX() < this.enemy.getX();
-                boolean betweenY = enemy.getY() - 32 <= this.enemy.getY() && this.enemy.getY() <= enemy.getY() + 32 ;
-                if (!enemy.isDead() && betweenX && betweenY) {visible = false; break;}
-            }
-            if (visible) {enemy.setDirection(LEFT); return true;} // Nothing blocks the view - player is finally visible
+            if (sight.isClearHorizontal(enemy.getY(), player.getX(), enemy.getX())) {enemy.setDirection(LEFT); return true;} // Nothing blocks the view
         }
 
         // Player is visible on the right (only if enemy don't go left)
         if (direction != LEFT && player.getY() - 15 <= enemy.getY() && enemy.getY() <= player.getY() + 15 && player.getX() > enemy.getX()) {
-            boolean visible = true;
-            for (Obstacle obstacle : level.getObstacles()) { // Control if some obstacle blocking the view
-                boolean betweenX = obstacle.getX() > enemy.getX() && obstacle.getX() < player.getX();
-                boolean betweenY = obstacle.getY() - 32 <= enemy.getY() && enemy.getY() <= obstacle.getY() + 32 ;
-                if (betweenX && betweenY) {visible = false; break;}
-            }
-            for (Enemy enemy : level.getEnemies()) { // Control if some other alive enemy is blocking the view
-                boolean betweenX = enemy.getX() > this.enemy.getX() && enemy.getX() < player.getX();
-                boolean betweenY = enemy.getY() - 32 <= this.enemy.getY() && this.enemy.getY() <= enemy.getY() + 32 ;
-                if (!enemy.isDead() && betweenX && betweenY) {visible = false; break;}
-            }
-            if (visible) {enemy.setDirection(RIGHT); return true;} // Nothing blocks the view - player is finally visible
+            if (sight.isClearHorizontal(enemy.getY(), enemy.getX(), player.getX())) {enemy.setDirection(RIGHT); return true;} // Nothing blocks the view
         }
 
         return false; // player isn't visible
     }
 
     /**
-     * Determines if player is somewhere near to enemy.
+     * Determines how far is player from enemy.
      *
-     * @return true if player is near, false otherwise.
+     * @return distance between player and enemy.
      */
-    private boolean isPlayerNear() {
+    private double getPlayerDistance() {
         float x = enemy.getX() - level.getPlayer().getX(); // horizontal difference
         float y = enemy.getY() - level.getPlayer().getY(); // vertical difference
-        return Math.sqrt(Math.pow(x, 2) + Math.pow(y, 2)) < Limits.RANGE;
+        return Math.sqrt(x * x + y * y);
     }
 
     /**
@@ -146,6 +147,40 @@ public class AI {
         frame++;
     }
 
+    /**
+     * Method to chase the player along the level flow field.
+     * Enemy first centres itself in the tile across the way, so it doesn't catch obstacle corners.
+     * Blocked enemy (e.g. by another soldier) patrols till its next perception.
+     */
+    private void chase() {
+        Rectangle hitbox = enemy.getHitbox();
+        double centreX = hitbox.getCenterX(), centreY = hitbox.getCenterY();
+        int way = level.getFlowField().getDirection(centreX, centreY);
+        if (way == FlowField.NONE) { // Player's tile or no way to it
+            chasing = false;
+            return;
+        }
+
+        float x = enemy.getX(), y = enemy.getY();
+        float offsetX = x + HITBOX_INSET + HITBOX / 2f - FlowField.centreX(centreX); // hitbox centre from the tile centre
+        float offsetY = y + HITBOX_INSET + HITBOX / 2f - FlowField.centreY(centreY);
+        if ((way == UP || way == DOWN) && Math.abs(offsetX) > 1) { // Centre in the column first
+            if (offsetX > 0) enemy.moveLeft();
+            else enemy.moveRight();
+        } else if ((way == LEFT || way == RIGHT) && Math.abs(offsetY) > 1) { // Centre in the row first
+            if (offsetY > 0) enemy.moveUp();
+            else enemy.moveDown();
+        } else {
+            switch (way) {
+                case UP -> enemy.moveUp();
+                case DOWN -> enemy.moveDown();
+                case LEFT -> enemy.moveLeft();
+                case RIGHT -> enemy.moveRight();
+            }
+        }
+        if (x == enemy.getX() && y == enemy.getY()) chasing = false; // Blocked - patrol till the next perception
+    }
+
     /**
      * Method to patrolling area when enemy don't see player.
      * Direction of movement and duration are randomly determined.
@@ -177,7 +212,7 @@ public class AI {
         }
 
         // Randomly chooses duration of the movement in this direction
-        if (frame > new Random().nextInt(1500) + 500) {
+        if (frame > random.nextInt(1500) + 500) {
             switch (direction) { // Prevents sudden 180-degree turns
                 case UP -> setRandomDirection(DOWN);
                 case DOWN -> setRandomDirection(UP);
@@ -193,17 +228,18 @@ public class AI {
      * Randomly chooses movement direction.
      */
     private void setRandomDirection() {
-        this.direction = new Random().nextInt(4);
+        this.direction = random.nextInt(4);
     }
 
     /**
      * Randomly chooses movement direction different from the previous one.
+     * Chooses from the three remaining directions by a single draw.
      *
      * @param except previous movement direction.
      */
     private void setRandomDirection(int except) {
-        int direction = new Random().nextInt(4);
-        while (direction == except) {direction = new Random().nextInt(4);}
+        int direction = random.nextInt(3);
+        if (direction >= except) direction++; // Skip the excluded direction
         this.direction = direction;
     }
 }
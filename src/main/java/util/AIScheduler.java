@@ -0,0 +1,104 @@
+package util;
+
+import static util.Const.*;
+
+/**
+ * Scheduler of the enemies perception.
+ * Perception (looking for the player) is the expensive part of the AI, so every enemy does it only every few ticks.
+ * Enemies are spread into staggered groups by their slots, far enemies look less often.
+ * Each tick has a budget of perceptions, enemies over the budget wait for the next tick.
+ * Must be used from the update thread only (counters are only read by others).
+ */
+public class AIScheduler {
+    private final int budget; // maximum count of perceptions per tick
+    private int slots; // count of registered enemies
+    private int used; // perceptions made in the actual tick
+    private volatile int last; // perceptions made in the last finished tick
+    private volatile long deferred; // count of perceptions postponed over the budget
+
+    /**
+     * Constructor for the AIScheduler.
+     *
+     * @param budget maximum count of perceptions per tick.
+     */
+    public AIScheduler(int budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * Registers new enemy.
+     *
+     * @return slot of the enemy, which determines its group of ticks.
+     */
+    public int register() {
+        return slots++;
+    }
+
+    /**
+     * Starts new tick with the whole budget.
+     */
+    public void begin() {
+        used = 0;
+    }
+
+    /**
+     * Finishes the tick and publishes its usage.
+     */
+    public void end() {
+        last = used;
+    }
+
+    /**
+     * Controls if the enemy should look for the player in this tick.
+     *
+     * @param slot  slot of the enemy.
+     * @param far   true if the enemy is far from the player.
+     * @param tick  actual level tick.
+     * @return true if the perception is due, false otherwise.
+     */
+    public boolean isDue(int slot, boolean far, long tick) {
+        int period = far ? Perception.FAR : Perception.NEAR;
+        return (tick + slot) % period == 0;
+    }
+
+    /**
+     * Takes one perception from the tick budget.
+     *
+     * @return true if the budget allows perception, false if it has to be postponed.
+     */
+    public boolean acquire() {
+        if (used < budget) {
+            used++;
+            return true;
+        }
+        deferred++;
+        return false;
+    }
+
+    /**
+     * Returns maximum count of perceptions per tick.
+     *
+     * @return perception budget.
+     */
+    public int getBudget() {
+        return budget;
+    }
+
+    /**
+     * Returns count of perceptions made in the last finished tick.
+     *
+     * @return used part of the budget.
+     */
+    public int getUsed() {
+        return last;
+    }
+
+    /**
+     * Returns count of perceptions postponed because the budget was spent.
+     *
+     * @return deferred perceptions count.
+     */
+    public long getDeferred() {
+        return deferred;
+    }
+}
@@ -0,0 +1,137 @@
+package util;
+
+import static util.Const.GUI.*;
+
+import java.awt.image.BufferedImage;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide registry of game object sprites.
+ * Decodes every sprite sheet only once and slices frames once per object type.
+ * Frames are converted to the screen format at their final on-screen size when sliced,
+ * so the renderer draws them without any scaling or conversion.
+ * All objects of the same type share the same frames array, so it must never be changed.
+ */
+public class Atlas {
+    private static final Map<String, BufferedImage> SHEETS = new ConcurrentHashMap<>(); // decoded sprite sheets
+    private static final Map<Integer, BufferedImage[][][]> FRAMES = new ConcurrentHashMap<>(); // sliced frames by object type
+    private static final LongAdder hits = new LongAdder(); // count of lookups served from cache
+    private static final LongAdder misses = new LongAdder(); // count of lookups which sliced frames
+
+    /**
+     * Returns frames of the game object type.
+     * Frames are indexed by direction, action and animation frame.
+     *
+     * @param type type of game object (GameObject constant).
+     * @return shared frames of the object type.
+     */
+    public static BufferedImage[][][] get(int type) {
+        BufferedImage[][][] frames = FRAMES.get(type);
+        if (frames != null) {
+            hits.increment();
+            return frames;
+        }
+        misses.increment();
+        return FRAMES.computeIfAbsent(type, Atlas::slice);
+    }
+
+    /**
+     * Returns decoded sprite sheet.
+     *
+     * @param fileName name of the image file.
+     * @return shared sprite sheet image.
+     */
+    public static BufferedImage sheet(String fileName) {
+        return SHEETS.computeIfAbsent(fileName, Image::loadImage);
+    }
+
+    /**
+     * Slices frames of the game object type from its sprite sheet.
+     *
+     * @param type type of game object (GameObject constant).
+     * @return frames of the object type.
+     */
+    private static BufferedImage[][][] slice(int type) {
+        BufferedImage[][][] frames;
+        switch (type) {
+            case GameObject.PLAYER, GameObject.ENEMY -> { // Soldiers (all directions, actions and animation frames)
+                BufferedImage tmp = sheet(SOLDIERS);
+                frames = new BufferedImage[4][3][4];
+                for (int k = 0; k < frames.length; ++k) { // Load all direction images
+                    for (int j = 0; j < frames[k].length; ++j) { // Load all action images
+                        for (int i = 0; i < frames[k][j].length; ++i) { // Load all animation frames
+                            frames[k][j][i] = frame(tmp, (j * 4 + i) * GameObject.W, (k + type * 4) * GameObject.H, GameObject.W, SPRITE);
+                        }
+                    }
+                }
+            }
+            case GameObject.DOC, GameObject.HEALTH, GameObject.AMMO -> { // Collectibles (animation frames)
+                BufferedImage tmp = sheet(ITEMS);
+                frames = new BufferedImage[1][1][4];
+                for (int i = 0; i < frames[0][0].length; ++i) {
+                    frames[0][0][i] = frame(tmp, i * GameObject.W, (type - 2) * GameObject.H, GameObject.W, SPRITE);
+                }
+            }
+            case GameObject.OBSTACLE -> {
+                frames = new BufferedImage[1][1][1];
+                frames[0][0][0] = frame(sheet(BLOCKS), 0, 0, GameObject.W, SPRITE);
+            }
+            case GameObject.FINISH -> {
+                frames = new BufferedImage[1][1][1];
+                frames[0][0][0] = frame(sheet(BLOCKS), 0, GameObject.W, GameObject.W, SPRITE);
+            }
+            case GameObject.BULLET -> { // Bullets (all directions)
+                BufferedImage tmp = sheet(BULLET);
+                frames = new BufferedImage[4][1][1];
+                for (int i = 0; i < frames.length; ++i) {
+                    frames[i][0][0] = frame(tmp, 0, i * GameObject.BULLET, GameObject.BULLET, GameObject.BULLET);
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown game object type: " + type);
+        }
+        return frames;
+    }
+
+    /**
+     * Cuts square frame out of the sprite sheet and prepares it for drawing.
+     *
+     * @param sheet sprite sheet.
+     * @param x     x-coordinate of the frame in the sheet.
+     * @param y     y-coordinate of the frame in the sheet.
+     * @param size  size of the frame in the sheet.
+     * @param scale on-screen size of the frame.
+     * @return compatible frame image of the on-screen size.
+     */
+    private static BufferedImage frame(BufferedImage sheet, int x, int y, int size, int scale) {
+        return Image.createScaled(sheet.getSubimage(x, y, size, size), scale, scale);
+    }
+
+    /**
+     * Returns count of lookups served from cache.
+     *
+     * @return cache hits count.
+     */
+    public static long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns count of lookups which had to slice frames.
+     *
+     * @return cache misses count.
+     */
+    public static long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns count of decoded sprite sheets.
+     *
+     * @return decoded sheets count.
+     */
+    public static int getSheets() {
+        return SHEETS.size();
+    }
+}
@@ -4,98 +4,170 @@ import static util.Const.Sounds.*;
 
 import java.io.IOException;
 import java.net.URL;
+import java.util.concurrent.locks.LockSupport;
 import javax.sound.sampled.*;
 
 /**
  * Game audio player.
  * Starts and stops background music and fx sounds.
+ * Callers only queue commands, effect lines are touched by the audio thread.
+ * Effects are played either by clips or by the software mixer into one output line.
+ * Music is streamed by its own thread.
  */
 public class Audio {
-    private final Clip[] songs; // game music
-    private final Clip[] sounds; // fx sounds
-    private int currentSong; // playing song at the moment
+    private final AudioQueue commands = new AudioQueue(QUEUE); // commands waiting for the audio thread
+    private final Thread thread; // audio thread
+    private final boolean mixing; // effects are mixed in software
+    private final MusicStream music = new MusicStream(); // background music player
+    private PcmMixer mixer; // software mixer of effects (null if clips are used)
+    private Clip[][] voices; // copies of fx sounds (played together when sound overlaps itself)
+    private int[] nextVoice; // voice to reuse when all copies of the sound are playing
 
     /**
      * Constructor for the Audio player.
-     * Loads all audio files, sets standard volume and starts main menu theme.
+     * Starts audio thread which loads all effect sounds, sets standard volume and starts main menu theme.
      */
     public Audio() {
-        // Load background music
-        songs = new Clip[SONGS.length];
-        for (int i = 0; i < songs.length; i++)
-            songs[i] = loadAudio(SONGS[i]);
+        this(false);
+    }
+
+    /**
+     * Constructor for the Audio player.
+     * Starts audio thread which loads all effect sounds, sets standard volume and starts main menu theme.
+     *
+     * @param mixing true to mix effects in software into one output line, false to play them by clips.
+     */
+    public Audio(boolean mixing) {
+        this.mixing = mixing;
+        thread = new Thread(this::run, "Audio");
+        thread.setDaemon(true); // Doesn't stop program exit
+        thread.start();
+        playSong(MENU);
+    }
+
+    /**
+     * Loads all effect sounds and plays queued sounds until the program ends.
+     * Feeds the software mixer output while any effect is playing, sleeps while there is nothing to do.
+     */
+    private void run() {
+        load();
+        while (true) {
+            int command;
+            while ((command = commands.poll()) != AudioQueue.EMPTY) startSound(command);
+            if (mixer != null && mixer.isActive()) mixer.mix(); // Paced by the output line
+            else LockSupport.park(this);
+        }
+    }
 
-        // Load effect sounds
-        sounds = new Clip[SOUNDS.length];
-        for (int i = 0; i < sounds.length; i++)
-            sounds[i] = loadAudio(SOUNDS[i]);
+    /**
+     * Loads all copies of the effect sounds (or decoded sounds for the software mixer).
+     */
+    private void load() {
+        if (mixing) {
+            mixer = new PcmMixer();
+            return;
+        }
+        voices = new Clip[SOUNDS.length][VOICES];
+        nextVoice = new int[SOUNDS.length];
+        for (int i = 0; i < voices.length; i++)
+            for (int j = 0; j < VOICES; j++)
+                voices[i][j] = loadAudio(SOUNDS[i]);
 
         setSoundVolume();
-        playSong(MENU);
     }
 
     /**
      * Loads audio files from resources folder and returns a Clip object.
      *
      * @param name name of the file to load, without the .wav extension.
-     * @return Clip object containing the loaded audio.
+     * @return Clip object containing the loaded audio, null if file or audio device is missing.
      */
     private Clip loadAudio(String name) {
         URL url = getClass().getResource("/audio/" + name + ".wav");
-        AudioInputStream audio;
-        try { // Controls file existence
-            assert url != null;
-            audio = AudioSystem.getAudioInputStream(url);
+        if (url == null) return null; // Controls file existence
+        try {
+            AudioInputStream audio = AudioSystem.getAudioInputStream(url);
             Clip c = AudioSystem.getClip();
             c.open(audio);
             return c;
-        } catch (UnsupportedAudioFileException | IOException | LineUnavailableException ignored) {}
+        } catch (UnsupportedAudioFileException | IOException | LineUnavailableException | IllegalArgumentException ignored) {}
         return null;
     }
 
     /**
      * Plays the specified background music track.
-     * If a song is already playing, stops it first before playing the new one.
+     * Only requests the song from the music thread, so caller is never blocked.
      *
      * @param song index of the song to play.
      */
     public void playSong(int song) {
-        if (songs[currentSong].isActive()) songs[currentSong].stop(); // Stop currently playing song
-        currentSong = song;
-        setSongVolume();
-        songs[currentSong].setMicrosecondPosition(0);
-        songs[currentSong].loop(Clip.LOOP_CONTINUOUSLY); // Loop the background song
+        music.play(song);
     }
 
     /**
      * Plays the specified sound effect.
+     * Only queues the command, so caller is never blocked.
      *
      * @param sound index of the sound to play.
      */
     public void playSound(int sound) {
-        if (sounds[sound].getMicrosecondPosition() > 0) sounds[sound].setMicrosecondPosition(0);
-        sounds[sound].start();
+        if (commands.offer(sound)) LockSupport.unpark(thread);
     }
 
     /**
-     * Sets the volume of the currently playing song to the default value.
+     * Starts the specified sound effect on a free voice.
+     * If all copies of the sound are playing, the oldest one is restarted.
+     *
+     * @param sound index of the sound to play.
      */
-    private void setSongVolume() {
-        FloatControl gainControl = (FloatControl) sounds[currentSong].getControl(FloatControl.Type.MASTER_GAIN);
-        float range = gainControl.getMaximum() - gainControl.getMinimum();
-        float gain = (range * VOLUME) + gainControl.getMinimum();
-        gainControl.setValue(gain);
+    private void startSound(int sound) {
+        if (mixer != null) {
+            mixer.start(sound);
+            return;
+        }
+
+        Clip[] copies = voices[sound];
+        Clip voice = null;
+        for (Clip copy : copies) {
+            if (copy != null && !copy.isRunning()) {voice = copy; break;}
+        }
+        if (voice == null) { // All copies are playing - reuse them in turn
+            voice = copies[nextVoice[sound]];
+            nextVoice[sound] = (nextVoice[sound] + 1) % copies.length;
+            if (voice == null) return;
+            voice.stop();
+        }
+        voice.setFramePosition(0);
+        voice.start();
+    }
+
+    /**
+     * Returns count of commands dropped because the audio thread was too slow.
+     *
+     * @return dropped commands count.
+     */
+    public long getDropped() {
+        return commands.getDropped();
     }
 
     /**
-     * Sets the volume of the currently playing sound to the default value.
+     * Sets the volume of all effect sounds to the default value.
      */
     private void setSoundVolume() {
-        for (Clip c : sounds) {
-            FloatControl gainControl = (FloatControl) c.getControl(FloatControl.Type.MASTER_GAIN);
-            float range = gainControl.getMaximum() - gainControl.getMinimum();
-            float gain = (range * VOLUME) + gainControl.getMinimum();
-            gainControl.setValue(gain);
-        }
+        for (Clip[] copies : voices)
+            for (Clip c : copies) setVolume(c);
+    }
+
+    /**
+     * Sets the volume of the clip to the default value.
+     *
+     * @param c clip to adjust.
+     */
+    private void setVolume(Clip c) {
+        if (c == null || !c.isControlSupported(FloatControl.Type.MASTER_GAIN)) return;
+        FloatControl gainControl = (FloatControl) c.getControl(FloatControl.Type.MASTER_GAIN);
+        float range = gainControl.getMaximum() - gainControl.getMinimum();
+        float gain = (range * VOLUME) + gainControl.getMinimum();
+        gainControl.setValue(gain);
     }
 }
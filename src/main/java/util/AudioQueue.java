@@ -0,0 +1,86 @@
+package util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free bounded queue of audio commands.
+ * Any thread can offer commands, only the audio thread polls them.
+ * Producers never wait - command is dropped if the queue is full.
+ */
+public class AudioQueue {
+    public static final int EMPTY = -1; // poll result when there is no command
+
+    private final int capacity; // count of slots (power of two)
+    private final int mask; // mask of the slot index
+    private final int[] commands; // queued commands
+    private final AtomicLongArray sequences; // position each slot is ready for (write when equal to tail, read when one more than head)
+    private final AtomicLong tail = new AtomicLong(); // position of the next write
+    private final AtomicLong dropped = new AtomicLong(); // count of commands dropped on full queue
+    private long head; // position of the next read (audio thread only)
+
+    /**
+     * Constructor for the AudioQueue.
+     *
+     * @param capacity maximum count of waiting commands (power of two).
+     */
+    public AudioQueue(int capacity) {
+        if (Integer.bitCount(capacity) != 1) throw new IllegalArgumentException("Capacity must be power of two!");
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        commands = new int[capacity];
+        sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; ++i) sequences.set(i, i);
+    }
+
+    /**
+     * Adds command to the queue.
+     *
+     * @param command non-negative command code.
+     * @return true if command was queued, false if the queue was full.
+     */
+    public boolean offer(int command) {
+        long position = tail.get();
+        while (true) {
+            int slot = (int) position & mask;
+            long sequence = sequences.get(slot);
+            if (sequence == position) { // Slot is free - try to claim it
+                if (tail.compareAndSet(position, position + 1)) {
+                    commands[slot] = command;
+                    sequences.lazySet(slot, position + 1); // Publish the command to the reader
+                    return true;
+                }
+                position = tail.get();
+            } else if (sequence < position) { // Reader didn't free the slot yet - queue is full
+                dropped.incrementAndGet();
+                return false;
+            } else { // Other producer claimed the slot
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Takes the oldest command from the queue.
+     * Must be called only from the audio thread.
+     *
+     * @return command code or EMPTY if there is no command.
+     */
+    public int poll() {
+        int slot = (int) head & mask;
+        if (sequences.get(slot) != head + 1) return EMPTY;
+        int command = commands[slot];
+        sequences.lazySet(slot, head + capacity); // Free the slot for the next lap
+        head++;
+        return command;
+    }
+
+    /**
+     * Returns count of commands dropped because the queue was full.
+     *
+     * @return dropped commands count.
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+}
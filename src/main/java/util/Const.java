@@ -1,6 +1,7 @@
 package util;
 
 import java.awt.*;
+import java.awt.event.KeyEvent;
 
 /**
  * Class with all the "magic" constants used in game.
@@ -10,6 +11,7 @@ public class Const {
     public static final int GAME_HEIGHT = 960;
     public static final int FPS = 120;
     public static final int UPS = 360;
+    public static final int CATCH_UP = 36;
 
     /**
      * Main limits in the game.
@@ -31,6 +33,25 @@ public class Const {
         public static final float BULLET = 1.5f;
         public static final int REALOAD = 150;
         public static final int RANGE = 350;
+        public static final int CHASE = 700;
+    }
+
+    /**
+     * Enemies perception scheduling constants (in ticks).
+     */
+    public static class Perception {
+        public static final int NEAR = 6; // period of enemies in the range of the player
+        public static final int FAR = 36; // period of enemies out of the range
+        public static final int BUDGET = 8; // maximum count of perceptions per tick
+    }
+
+    /**
+     * Animation constants (in nanosec of simulation time, so they don't depend on UPS).
+     */
+    public static class Animation {
+        public static final int FRAMES = 4; // count of frames in animation loops
+        public static final long SOLDIER = 1000000000L / 6; // duration of one soldier frame
+        public static final long ITEM = 1000000000L / 3; // duration of one collectible frame
     }
 
     /**
@@ -44,6 +65,8 @@ public class Const {
         public static final int RIGHT = 1;
         public static final int DOWN = 2;
         public static final int LEFT = 3;
+        public static final int HITBOX_INSET = 13; // offset of the hitbox corner from the soldier position
+        public static final int HITBOX = 40; // width and height of the hitbox
     }
 
     /**
@@ -127,6 +150,39 @@ public class Const {
         public static final String ACTIVE = "active";
     }
 
+    /**
+     * Constants of the binary level files.
+     * All values are stored in little-endian byte order.
+     */
+    public static class Binary {
+        public static final int MAGIC = 0x564C5354; // "TSLV" file signature
+        public static final short VERSION = 2; // actual format version
+        public static final short SEEDED = 2; // first version with the seed of the level randomness
+        public static final short CHECKSUM = 0x1; // flag of the CRC32 trailer
+
+        public static final int HEADER = 40; // magic, version, flags, six entity counts and seed
+        public static final int HEADER_1 = 32; // header of the version 1 (without seed)
+        public static final int SOLDIER = 13; // x, y (float), direction (byte), health, ammo (short)
+        public static final int ITEM = 5; // x, y (short), active (byte)
+        public static final int OBSTACLE = 4; // x, y (short)
+        public static final int BULLET = 11; // x, y (float), direction (byte), limit (short)
+        public static final int TRAILER = 4; // CRC32 of all previous bytes
+    }
+
+    /**
+     * Replay file format constants.
+     * Little-endian header, names of the level, fixed-size input events and CRC32 trailer.
+     */
+    public static class Replays {
+        public static final String DIR = "rpl"; // directory of the recorded replays
+        public static final int MAGIC = 0x50525354; // "TSRP" file signature
+        public static final short VERSION = 2; // actual format version (1 had no level checksum)
+
+        public static final int HEADER = 28; // magic, version, flags, seed, length, event count and level CRC32
+        public static final int EVENT = 7; // tick (int), key code (short), pressed (byte)
+        public static final int TRAILER = 4; // CRC32 of all previous bytes
+    }
+
     /**
      * Constants of the GUI elements.
      */
@@ -295,6 +351,23 @@ public class Const {
             public static final int H = 50;
         }
 
+        /**
+         * Performance overlay constants.
+         */
+        public static class Overlay {
+            public static final int TOGGLE = KeyEvent.VK_F3;
+            public static final int X = 8;
+            public static final int Y = 8;
+            public static final int W = 480;
+            public static final int LINE = 16;
+            public static final int LINES = 5;
+            public static final int GRAPH_H = 100;
+            public static final long GRAPH_SCALE = 500000; // nanosec per graph pixel (100 px = 50 ms)
+            public static final Font FONT = new Font(Font.MONOSPACED, Font.BOLD, 13);
+            public static final Color BACKGROUND = new Color(0,0,0, 160);
+            public static final Color TARGET = new Color(220,200,140, 120);
+        }
+
         /**
          * Game objects constants.
          */
@@ -334,5 +407,11 @@ public class Const {
         public static final String[] SOUNDS = {"error", "shoot", "empty", "hit", "die", "ammo", "health", "doc", "win", "defeat"};
 
         public static final float VOLUME = 0.85f;
+        public static final int VOICES = 4; // count of overlapping copies of every sound
+        public static final int QUEUE = 64; // maximum count of waiting audio commands
+        public static final float RATE = 44100f; // sample rate of the software mixer
+        public static final int MIX_VOICES = 16; // count of sounds mixed together by the software mixer
+        public static final int MIX_FRAMES = 256; // frames mixed in one block (about 6 ms)
+        public static final int STREAM_CHUNK = 16384; // bytes of music decoded at once (about 90 ms)
     }
 }
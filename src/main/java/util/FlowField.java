@@ -0,0 +1,148 @@
+package util;
+
+import static util.Const.GUI.*;
+import static util.Const.Soldier.*;
+
+import java.util.Arrays;
+
+/**
+ * Flow field toward the player on the SPRITE tile grid.
+ * Every free tile knows its distance to the player's tile and the direction of the next tile on the shortest path.
+ * Field is rebuilt only when the player enters another tile or obstacles change,
+ * so any count of enemies follows it by one array lookup per tick.
+ * Must be used from the update thread only.
+ */
+public class FlowField {
+    public static final int NONE = -1; // tile without direction (target, blocked or unreachable)
+    private static final int UNREACHABLE = Integer.MAX_VALUE; // distance of unreachable tiles
+    private static final int TOP = 3; // first row of the playing area (rows above are the HUD)
+
+    private final Grid grid; // collision index with obstacles
+    private final int[] distances = new int[Grid.COLS * Grid.ROWS]; // distance of every tile to the target (in tiles)
+    private final byte[] directions = new byte[Grid.COLS * Grid.ROWS]; // direction toward the target of every tile
+    private final int[] queue = new int[Grid.COLS * Grid.ROWS]; // breadth-first search queue
+    private int target = -1; // tile of the player the field leads to
+    private boolean dirty = true; // obstacles were changed since the last build
+    private long builds; // count of field builds
+
+    /**
+     * Constructor for the FlowField.
+     *
+     * @param grid  collision index of the level.
+     */
+    public FlowField(Grid grid) {
+        this.grid = grid;
+    }
+
+    /**
+     * Marks field as outdated after obstacles were added or removed.
+     */
+    public void invalidate() {
+        dirty = true;
+    }
+
+    /**
+     * Leads the field to the point.
+     * Field is rebuilt only if the point is in another tile or obstacles changed.
+     *
+     * @param x x-coordinate of the target (player's centre).
+     * @param y y-coordinate of the target (player's centre).
+     */
+    public void update(double x, double y) {
+        int tile = Grid.row(y) * Grid.COLS + Grid.col(x);
+        if (tile == target && !dirty) return;
+        target = tile;
+        dirty = false;
+        build();
+    }
+
+    /**
+     * Builds the field by breadth-first search from the target tile.
+     */
+    private void build() {
+        Arrays.fill(distances, UNREACHABLE);
+        Arrays.fill(directions, (byte) NONE);
+        builds++;
+
+        int head = 0, tail = 0;
+        distances[target] = 0;
+        queue[tail++] = target;
+        while (head < tail) {
+            int tile = queue[head++];
+            int col = tile % Grid.COLS, row = tile / Grid.COLS;
+            // Neighbours lead back to this tile in the opposite direction
+            if (row > TOP) tail = visit(tile, tile - Grid.COLS, DOWN, tail);
+            if (row < Grid.ROWS - 1) tail = visit(tile, tile + Grid.COLS, UP, tail);
+            if (col > 0) tail = visit(tile, tile - 1, RIGHT, tail);
+            if (col < Grid.COLS - 1) tail = visit(tile, tile + 1, LEFT, tail);
+        }
+    }
+
+    /**
+     * Visits neighbour tile in the search.
+     *
+     * @param from      tile the neighbour was reached from.
+     * @param tile      neighbour tile.
+     * @param direction direction from the neighbour back to the tile it was reached from.
+     * @param tail      end of the search queue.
+     * @return new end of the search queue.
+     */
+    private int visit(int from, int tile, int direction, int tail) {
+        if (distances[tile] != UNREACHABLE || grid.hasObstacle(tile % Grid.COLS, tile / Grid.COLS)) return tail;
+        distances[tile] = distances[from] + 1;
+        directions[tile] = (byte) direction;
+        queue[tail] = tile;
+        return tail + 1;
+    }
+
+    /**
+     * Returns direction toward the target from the point.
+     *
+     * @param x x-coordinate of the point.
+     * @param y y-coordinate of the point.
+     * @return direction (UP, RIGHT, DOWN, LEFT) or NONE at the target or without path.
+     */
+    public int getDirection(double x, double y) {
+        return directions[Grid.row(y) * Grid.COLS + Grid.col(x)];
+    }
+
+    /**
+     * Returns path distance to the target from the point.
+     *
+     * @param x x-coordinate of the point.
+     * @param y y-coordinate of the point.
+     * @return distance in tiles, Integer.MAX_VALUE without path.
+     */
+    public int getDistance(double x, double y) {
+        return distances[Grid.row(y) * Grid.COLS + Grid.col(x)];
+    }
+
+    /**
+     * Returns count of field builds.
+     *
+     * @return builds count.
+     */
+    public long getBuilds() {
+        return builds;
+    }
+
+    /**
+     * Returns centre of the tile column containing the coordinate.
+     *
+     * @param x x-coordinate.
+     * @return x-coordinate of the tile centre.
+     */
+    public static int centreX(double x) {
+        return Grid.col(x) * SPRITE + SPRITE / 2;
+    }
+
+    /**
+     * Returns centre of the tile row containing the coordinate.
+     *
+     * @param y y-coordinate.
+     * @return y-coordinate of the tile centre.
+     */
+    public static int centreY(double y) {
+        return Grid.row(y) * SPRITE + SPRITE / 2;
+    }
+}
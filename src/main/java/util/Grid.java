@@ -0,0 +1,268 @@
+package util;
+
+import obj.Obstacle;
+import obj.soldier.Enemy;
+import obj.soldier.Soldier;
+import static util.Const.*;
+import static util.Const.GUI.*;
+
+import java.awt.Rectangle;
+import java.util.Arrays;
+
+/**
+ * Collision index of the level on the SPRITE tile grid.
+ * Static part holds obstacles of every cell their hitbox overlaps.
+ * Dynamic part holds buckets of soldiers by the cell of their hitbox top left corner.
+ * Point queries check only the obstacles of one cell and the soldiers of neighbouring cells.
+ */
+public class Grid {
+    public static final int COLS = GAME_WIDTH / SPRITE; // count of grid columns
+    public static final int ROWS = GAME_HEIGHT / SPRITE; // count of grid rows
+    private static final Obstacle[] NONE = new Obstacle[0]; // empty cell
+
+    private final Obstacle[][] obstacles = new Obstacle[COLS * ROWS][]; // obstacles overlapping every cell
+    private final Soldier[][] soldiers = new Soldier[COLS * ROWS][]; // soldiers indexed in every cell
+    private final int[] counts = new int[COLS * ROWS]; // count of soldiers in every cell
+    private final int[] colCounts = new int[COLS]; // count of soldiers in every column
+    private final int[] rowCounts = new int[ROWS]; // count of soldiers in every row
+
+    /**
+     * Constructor for the Grid.
+     * Creates empty index.
+     */
+    public Grid() {
+        Arrays.fill(obstacles, NONE);
+        for (int i = 0; i < soldiers.length; ++i) soldiers[i] = new Soldier[4];
+    }
+
+    /**
+     * Returns grid column of the x-coordinate.
+     * Coordinates outside the screen belong to the border columns.
+     *
+     * @param x x-coordinate.
+     * @return column index.
+     */
+    public static int col(double x) {
+        return Math.max(0, Math.min(COLS - 1, (int) Math.floor(x / SPRITE)));
+    }
+
+    /**
+     * Returns grid row of the y-coordinate.
+     * Coordinates outside the screen belong to the border rows.
+     *
+     * @param y y-coordinate.
+     * @return row index.
+     */
+    public static int row(double y) {
+        return Math.max(0, Math.min(ROWS - 1, (int) Math.floor(y / SPRITE)));
+    }
+
+    /**
+     * Adds obstacle to all cells its hitbox overlaps.
+     *
+     * @param obstacle obstacle to add.
+     */
+    public void add(Obstacle obstacle) {
+        Rectangle hitbox = obstacle.getHitbox();
+        for (int r = row(hitbox.y); r <= row(hitbox.y + hitbox.height - 1); ++r) {
+            for (int c = col(hitbox.x); c <= col(hitbox.x + hitbox.width - 1); ++c) {
+                Obstacle[] cell = obstacles[r * COLS + c];
+                cell = Arrays.copyOf(cell, cell.length + 1);
+                cell[cell.length - 1] = obstacle;
+                obstacles[r * COLS + c] = cell;
+            }
+        }
+    }
+
+    /**
+     * Removes obstacle from all cells its hitbox overlaps.
+     *
+     * @param obstacle obstacle to remove.
+     */
+    public void remove(Obstacle obstacle) {
+        Rectangle hitbox = obstacle.getHitbox();
+        for (int r = row(hitbox.y); r <= row(hitbox.y + hitbox.height - 1); ++r) {
+            for (int c = col(hitbox.x); c <= col(hitbox.x + hitbox.width - 1); ++c) {
+                Obstacle[] cell = obstacles[r * COLS + c];
+                for (int i = 0; i < cell.length; ++i) {
+                    if (cell[i] == obstacle) {
+                        Obstacle[] tmp = Arrays.copyOf(cell, cell.length - 1);
+                        System.arraycopy(cell, i + 1, tmp, i, cell.length - i - 1);
+                        obstacles[r * COLS + c] = tmp.length == 0 ? NONE : tmp;
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds soldier to the bucket of its hitbox cell.
+     *
+     * @param soldier soldier to add.
+     */
+    public void add(Soldier soldier) {
+        if (soldier.getCell() != -1) return; // Already indexed
+        int cell = row(soldier.getHitbox().y) * COLS + col(soldier.getHitbox().x);
+        if (counts[cell] == soldiers[cell].length) soldiers[cell] = Arrays.copyOf(soldiers[cell], counts[cell] * 2);
+        soldiers[cell][counts[cell]++] = soldier;
+        colCounts[cell % COLS]++;
+        rowCounts[cell / COLS]++;
+        soldier.setCell(cell);
+    }
+
+    /**
+     * Removes soldier from its bucket.
+     *
+     * @param soldier soldier to remove.
+     */
+    public void remove(Soldier soldier) {
+        int cell = soldier.getCell();
+        if (cell == -1) return; // Not indexed
+        Soldier[] bucket = soldiers[cell];
+        for (int i = 0; i < counts[cell]; ++i) {
+            if (bucket[i] == soldier) {
+                bucket[i] = bucket[--counts[cell]];
+                bucket[counts[cell]] = null;
+                colCounts[cell % COLS]--;
+                rowCounts[cell / COLS]--;
+                break;
+            }
+        }
+        soldier.setCell(-1);
+    }
+
+    /**
+     * Moves soldier to the bucket of its current hitbox cell.
+     * Does nothing for soldiers which aren't indexed.
+     *
+     * @param soldier moved soldier.
+     */
+    public void move(Soldier soldier) {
+        int cell = soldier.getCell();
+        if (cell == -1 || cell == row(soldier.getHitbox().y) * COLS + col(soldier.getHitbox().x)) return;
+        remove(soldier);
+        add(soldier);
+    }
+
+    /**
+     * Returns count of soldiers indexed in the cell.
+     *
+     * @param col column of the cell.
+     * @param row row of the cell.
+     * @return soldiers count.
+     */
+    public int getCount(int col, int row) {
+        return counts[row * COLS + col];
+    }
+
+    /**
+     * Returns soldier indexed in the cell.
+     *
+     * @param col   column of the cell.
+     * @param row   row of the cell.
+     * @param i     position of the soldier in the cell bucket.
+     * @return soldier from the cell.
+     */
+    public Soldier get(int col, int row, int i) {
+        return soldiers[row * COLS + col][i];
+    }
+
+    /**
+     * Returns count of soldiers indexed in the column.
+     *
+     * @param col column index.
+     * @return soldiers count.
+     */
+    public int getColumnCount(int col) {
+        return colCounts[col];
+    }
+
+    /**
+     * Returns count of soldiers indexed in the row.
+     *
+     * @param row row index.
+     * @return soldiers count.
+     */
+    public int getRowCount(int row) {
+        return rowCounts[row];
+    }
+
+    /**
+     * Controls if some obstacle overlaps the cell.
+     *
+     * @param col column of the cell.
+     * @param row row of the cell.
+     * @return true if the cell has an obstacle, false otherwise.
+     */
+    public boolean hasObstacle(int col, int row) {
+        return obstacles[row * COLS + col].length != 0;
+    }
+
+    /**
+     * Controls if some obstacle's hitbox contains the point.
+     *
+     * @param x x-coordinate of the point.
+     * @param y y-coordinate of the point.
+     * @return true if point is inside obstacle, false otherwise.
+     */
+    public boolean isObstacle(double x, double y) {
+        for (Obstacle obstacle : obstacles[row(y) * COLS + col(x)]) {
+            if (obstacle.getHitbox().contains(x, y)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns indexed soldier whose hitbox contains the point.
+     * Soldier's hitbox is smaller than a cell, so only the point cell and its upper and left neighbours are checked.
+     *
+     * @param x x-coordinate of the point.
+     * @param y y-coordinate of the point.
+     * @return soldier at the point, null if there is none.
+     */
+    public Soldier soldierAt(double x, double y) {
+        int col = col(x), row = row(y);
+        for (int r = Math.max(0, row - 1); r <= row; ++r) {
+            for (int c = Math.max(0, col - 1); c <= col; ++c) {
+                int cell = r * COLS + c;
+                for (int i = 0; i < counts[cell]; ++i) {
+                    if (soldiers[cell][i].getHitbox().contains(x, y)) return soldiers[cell][i];
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns alive enemy whose hitbox contains the point.
+     *
+     * @param x x-coordinate of the point.
+     * @param y y-coordinate of the point.
+     * @return enemy at the point, null if there is none.
+     */
+    public Enemy enemyAt(double x, double y) {
+        int col = col(x), row = row(y);
+        for (int r = Math.max(0, row - 1); r <= row; ++r) {
+            for (int c = Math.max(0, col - 1); c <= col; ++c) {
+                int cell = r * COLS + c;
+                for (int i = 0; i < counts[cell]; ++i) {
+                    if (soldiers[cell][i] instanceof Enemy enemy && !enemy.isDead() && enemy.getHitbox().contains(x, y)) return enemy;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Controls if the point is blocked for soldier movement.
+     * Point is blocked by obstacles, alive enemies and player.
+     *
+     * @param x x-coordinate of the point.
+     * @param y y-coordinate of the point.
+     * @return true if point is blocked, false otherwise.
+     */
+    public boolean isBlocked(double x, double y) {
+        return isObstacle(x, y) || soldierAt(x, y) != null;
+    }
+}
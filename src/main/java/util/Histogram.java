@@ -0,0 +1,143 @@
+package util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of durations.
+ * Values are counted in log-linear buckets (as in HdrHistogram), so recording never allocates or waits.
+ * Every power-of-two range is split into SUBS linear sub-buckets, so bucket width is at most 1/SUBS of its values.
+ * Percentiles are interpolated inside their bucket.
+ */
+public class Histogram {
+    private static final int SUB_BITS = 4; // bits of the linear part of the bucket index
+    private static final int SUBS = 1 << SUB_BITS; // sub-buckets per power of two (values below are counted exactly)
+    private static final int BUCKETS = SUBS + (63 - SUB_BITS) * SUBS; // exact buckets and sub-buckets of all powers of two
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS); // count of values in every bucket
+    private final AtomicLong count = new AtomicLong(); // count of all values
+    private final AtomicLong sum = new AtomicLong(); // sum of all values
+    private final AtomicLong max = new AtomicLong(); // maximum value
+    private volatile long last; // last recorded value
+
+    /**
+     * Records new value.
+     *
+     * @param value recorded value (negative values are counted as zero).
+     */
+    public void record(long value) {
+        if (value < 0) value = 0;
+        buckets.incrementAndGet(index(value));
+        count.incrementAndGet();
+        sum.addAndGet(value);
+        long current;
+        while (value > (current = max.get()) && !max.compareAndSet(current, value)); // Keep the larger value
+        last = value;
+    }
+
+    /**
+     * Returns count of recorded values.
+     *
+     * @return values count.
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Returns average of recorded values.
+     *
+     * @return mean value (zero if nothing was recorded).
+     */
+    public double getMean() {
+        long n = count.get();
+        return n == 0 ? 0 : (double) sum.get() / n;
+    }
+
+    /**
+     * Returns maximum of recorded values.
+     *
+     * @return maximum value.
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Returns last recorded value.
+     *
+     * @return last value.
+     */
+    public long getLast() {
+        return last;
+    }
+
+    /**
+     * Returns value which is greater than or equal to the specified part of recorded values.
+     *
+     * @param percentile part of values (from 0 to 100).
+     * @return value interpolated inside the bucket where the percentile lies (never above maximum).
+     */
+    public long getPercentile(double percentile) {
+        long n = count.get();
+        if (n == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(n * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; ++i) {
+            long inside = buckets.get(i);
+            if (seen + inside >= rank) { // Values of the bucket are taken as evenly spread
+                long width = width(i);
+                long offset = (width * (rank - seen) + inside - 1) / inside - 1; // Rounded up
+                return Math.min(max.get(), low(i) + Math.max(0, offset));
+            }
+            seen += inside;
+        }
+        return max.get();
+    }
+
+    /**
+     * Returns bucket of the value.
+     *
+     * @param value non-negative value.
+     * @return index of the bucket.
+     */
+    private static int index(long value) {
+        if (value < SUBS) return (int) value; // Small values are exact
+        int exponent = 63 - Long.numberOfLeadingZeros(value); // Power of two of the value
+        int shift = exponent - SUB_BITS;
+        return SUBS + shift * SUBS + (int) ((value >>> shift) & (SUBS - 1));
+    }
+
+    /**
+     * Returns the lowest value of the bucket.
+     *
+     * @param index index of the bucket.
+     * @return lower bound of the bucket.
+     */
+    private static long low(int index) {
+        if (index < SUBS) return index;
+        int shift = (index - SUBS) / SUBS;
+        return (long) (SUBS + (index - SUBS) % SUBS) << shift;
+    }
+
+    /**
+     * Returns count of values in the bucket range.
+     *
+     * @param index index of the bucket.
+     * @return width of the bucket.
+     */
+    private static long width(int index) {
+        return index < SUBS ? 1 : 1L << ((index - SUBS) / SUBS);
+    }
+
+    /**
+     * Forgets all recorded values.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; ++i) buckets.set(i, 0);
+        count.set(0);
+        sum.set(0);
+        max.set(0);
+        last = 0;
+    }
+}
@@ -1,6 +1,10 @@
 package util;
 
 import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.InputStream;
@@ -26,4 +30,39 @@ public class Image {
         } catch (IOException ignored) {}
         return img;
     }
+
+    /**
+     * Creates image in the format of the screen, so drawing it doesn't need any conversion.
+     * Headless environment has no screen, plain RGB(A) image is created there.
+     *
+     * @param width         width of the image.
+     * @param height        height of the image.
+     * @param transparency  transparency of the image (Transparency.OPAQUE, BITMASK or TRANSLUCENT).
+     * @return new compatible image.
+     */
+    public static BufferedImage createCompatible(int width, int height, int transparency) {
+        if (GraphicsEnvironment.isHeadless()) {
+            return new BufferedImage(width, height, transparency == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        }
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration()
+                .createCompatibleImage(width, height, transparency);
+    }
+
+    /**
+     * Creates copy of the image scaled to its final on-screen size in the format of the screen.
+     * Scaling and conversion are done once here, so drawing the copy is a plain unscaled blit.
+     *
+     * @param image     source image (e.g. frame of a sprite sheet).
+     * @param width     on-screen width.
+     * @param height    on-screen height.
+     * @return new compatible translucent image.
+     */
+    public static BufferedImage createScaled(BufferedImage image, int width, int height) {
+        BufferedImage scaled = createCompatible(width, height, Transparency.TRANSLUCENT);
+        Graphics2D graphics = scaled.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR); // Smooth downscale, done only once
+        graphics.drawImage(image, 0, 0, width, height, null);
+        graphics.dispose();
+        return scaled;
+    }
 }
@@ -26,11 +26,17 @@ public class Input implements KeyListener, MouseListener, MouseMotionListener {
     /**
      * Handles key presses.
      * Forwards the event to the appropriate state.
+     * Toggles performance overlay directly.
      *
      * @param e the KeyEvent object representing the key press.
      */
     @Override
     public void keyPressed(KeyEvent e) {
+        if (e.getKeyCode() == Const.GUI.Overlay.TOGGLE) { // Performance overlay works in every state
+            window.getApp().getOverlay().toggle();
+            return;
+        }
+
         switch (States.state) {
             case MENU -> window.getApp().getMenu().keyPressed(e);
             case TUTORIAL -> window.getApp().getTutorial().keyPressed(e);
@@ -12,20 +12,23 @@ import obj.collectible.Finish;
 import obj.collectible.HealthBox;
 import obj.soldier.Enemy;
 import obj.soldier.Player;
-import org.json.JSONArray;
-import org.json.JSONException;
 import org.json.JSONObject;
 import org.json.JSONTokener;
 
 import java.awt.Graphics;
+import java.awt.Transparency;
 import java.awt.image.BufferedImage;
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.util.ConcurrentModificationException;
-import java.util.LinkedList;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.zip.CRC32;
 
 /**
  * Level object of the game.
@@ -33,17 +36,28 @@ import java.util.Random;
  */
 public class Level implements Serializable {
     private final Application app; // associated game application
+    private long seed; // seed of all level randomness
+    private SplittableRandom random; // level random generator, split for every enemy (update thread only)
+    private long tick; // count of level updates
     private BufferedImage background; // background image
+    private int[] layout; // finish and obstacle coordinates of the static layer (update thread)
+    private int[] layerLayout; // layout the cached static layer was composed from (render thread)
+    private BufferedImage layer; // cached background with finish and obstacles (render thread)
     private Player player; // player object
     private Finish finish; // finish position object
     private int enemiesCount; // number of alive enemies
     private int docsCount; // number of documents left to collect
-    private final LinkedList<Enemy> enemies = new LinkedList<>(); // list of enemy objects
-    private final LinkedList<Doc> docs = new LinkedList<>(); // list of document objects
-    private final LinkedList<HealthBox> healthBoxes = new LinkedList<>(); // list of health box objects
-    private final LinkedList<AmmoBox> ammoBoxes = new LinkedList<>(); // list of ammo box objects
-    private final LinkedList<Obstacle> obstacles = new LinkedList<>(); // list of obstacle objects
-    private final LinkedList<Bullet> bullets = new LinkedList<>(); // list of bullet objects
+    private final ArrayList<Enemy> enemies = new ArrayList<>(); // list of enemy objects
+    private final ArrayList<Doc> docs = new ArrayList<>(); // list of document objects
+    private final ArrayList<HealthBox> healthBoxes = new ArrayList<>(); // list of health box objects
+    private final ArrayList<AmmoBox> ammoBoxes = new ArrayList<>(); // list of ammo box objects
+    private final ArrayList<Obstacle> obstacles = new ArrayList<>(); // list of obstacle objects
+    private final BulletPool bullets = new BulletPool(this); // pool of bullet objects
+    private final Grid grid = new Grid(); // collision index of obstacles and soldiers
+    private final Sight sight = new Sight(this); // line of sight service
+    private final FlowField flow = new FlowField(grid); // shortest ways of enemies to the player
+    private final AIScheduler scheduler = new AIScheduler(Perception.BUDGET); // scheduler of the enemies perception
+    private final SnapshotBuffer snapshots = new SnapshotBuffer(); // render snapshots handed to the render thread
 
     /**
      * Constructor for the Level.
@@ -52,12 +66,17 @@ public class Level implements Serializable {
      * @param app  associated Game object.
      */
     public Level(Application app) {
-        loadBackground();
         this.app = app;
+        this.seed = System.nanoTime();
+        this.random = new SplittableRandom(seed);
+        loadBackground();
         player = new Player(0, 14*SPRITE, this);
+        grid.add(player);
         finish = new Finish(19*SPRITE, 3*SPRITE, this);
         enemiesCount = 0;
         docsCount = 0;
+        invalidateLayer();
+        if (app != null) publish(); // Headless level isn't rendered
     }
 
     /**
@@ -69,31 +88,122 @@ public class Level implements Serializable {
      * @param app   associated Game object.
      */
     public Level(String name, String dir, Application app) {
-        loadBackground();
-        loadLevel(name, dir);
+        this(name, dir, app, System.nanoTime());
+    }
+
+    /**
+     * Constructor for the Level.
+     * Used in level loading with known randomness (replays, tests).
+     * Levels with the same seed and the same player's controls develop identically.
+     * Seed stored in the level file takes precedence, so saved games keep their randomness.
+     *
+     * @param name  level filename.
+     * @param dir   directory, where level file is located.
+     * @param app   associated Game object.
+     * @param seed  seed of all level randomness.
+     */
+    public Level(String name, String dir, Application app, long seed) {
         this.app = app;
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+        loadLevel(name, dir);
+        loadBackground(); // Level file may change the seed
         for (Enemy enemy : enemies) if (!enemy.isDead()) enemiesCount++; // Load alive enemies count
         for (Doc doc : docs) if (doc.isActive()) docsCount++; // Load documents left to collect count
+        if (app != null) publish(); // Headless level isn't rendered
     }
 
     /**
-     * Loads information from binary JSON file.
+     * Loads information from level file.
+     * Reads binary level files and legacy JSON files (format is detected by the file signature).
      * Creates all game objects based on this information.
      *
      * @param name  level filename.
      * @param dir   directory, where level file is located.
      */
     public void loadLevel(String name, String dir) {
-        String file = null;
-        try {
-            file = Files.readString(Paths.get(dir + "/" + name + ".bin"));
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(Paths.get(dir + "/" + name + ".bin"), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+            while (buffer.hasRemaining()) if (channel.read(buffer) == -1) break;
+            buffer.flip();
+
+            if (buffer.remaining() >= Binary.HEADER_1 && buffer.getInt(0) == Binary.MAGIC) loadBinary(buffer);
+            else loadJSON(new JSONObject(new JSONTokener(StandardCharsets.UTF_8.decode(buffer).toString()))); // Legacy level file
         } catch (IOException e) {
-            app.getLogger().error("Unable to open level file. File wasn't found!"); // Logging
+            if (app != null) app.getLogger().error("Unable to open level file. {}", e.getMessage()); // Logging
+            throw new UncheckedIOException(e);
+        }
+
+        // Index loaded objects for collisions
+        grid.add(player);
+        for (Enemy enemy : enemies) if (!enemy.isDead()) grid.add(enemy);
+        for (Obstacle obstacle : obstacles) grid.add(obstacle);
+        sight.invalidate();
+        flow.invalidate();
+        invalidateLayer();
+        if (app != null) app.getMetrics().load(System.nanoTime() - start);
+    }
+
+    /**
+     * Loads all level objects from binary level file.
+     * Controls file version, size and checksum before reading the records.
+     * Files since version 2 contain seed, which replaces the level seed before enemies are created.
+     *
+     * @param buffer whole level file (little-endian).
+     * @throws IOException if the file is damaged or was made by newer game version.
+     */
+    private void loadBinary(ByteBuffer buffer) throws IOException {
+        buffer.getInt(); // Signature was already checked
+        short version = buffer.getShort();
+        short flags = buffer.getShort();
+        int enemyCount = buffer.getInt();
+        int docCount = buffer.getInt();
+        int healthBoxCount = buffer.getInt();
+        int ammoBoxCount = buffer.getInt();
+        int obstacleCount = buffer.getInt();
+        int bulletCount = buffer.getInt();
+        boolean seeded = version >= Binary.SEEDED;
+        long fileSeed = seeded && buffer.remaining() >= Long.BYTES ? buffer.getLong() : seed;
+
+        if (version > Binary.VERSION) throw new IOException("Level file version " + version + " isn't supported!");
+        long size = (seeded ? Binary.HEADER : Binary.HEADER_1) + (long) Binary.SOLDIER * (1 + enemyCount)
+                + (long) Binary.ITEM * (1 + docCount + healthBoxCount + ammoBoxCount)
+                + (long) Binary.OBSTACLE * obstacleCount + (long) Binary.BULLET * bulletCount
+                + ((flags & Binary.CHECKSUM) != 0 ? Binary.TRAILER : 0);
+        if (size != buffer.limit()) throw new IOException("Level file is damaged (wrong size)!");
+        if ((flags & Binary.CHECKSUM) != 0) {
+            CRC32 crc = new CRC32();
+            crc.update(buffer.duplicate().position(0).limit(buffer.limit() - Binary.TRAILER));
+            if ((int) crc.getValue() != buffer.getInt(buffer.limit() - Binary.TRAILER)) throw new IOException("Level file is damaged (wrong checksum)!");
+        }
+        if (seeded) { // Restore randomness of the saved level
+            seed = fileSeed;
+            random = new SplittableRandom(seed);
         }
-        assert file != null;
-        JSONObject input = new JSONObject(new JSONTokener(file));
 
         // Load all level objects
+        player = new Player(buffer, this);
+        finish = new Finish(buffer, this);
+        enemies.ensureCapacity(enemyCount);
+        for (int i = 0; i < enemyCount; i++) enemies.add(new Enemy(buffer, this));
+        docs.ensureCapacity(docCount);
+        for (int i = 0; i < docCount; i++) docs.add(new Doc(buffer, this));
+        healthBoxes.ensureCapacity(healthBoxCount);
+        for (int i = 0; i < healthBoxCount; i++) healthBoxes.add(new HealthBox(buffer, this));
+        ammoBoxes.ensureCapacity(ammoBoxCount);
+        for (int i = 0; i < ammoBoxCount; i++) ammoBoxes.add(new AmmoBox(buffer, this));
+        obstacles.ensureCapacity(obstacleCount);
+        for (int i = 0; i < obstacleCount; i++) obstacles.add(new Obstacle(buffer, this));
+        for (int i = 0; i < bulletCount; i++) bullets.spawn(buffer);
+    }
+
+    /**
+     * Loads all level objects from legacy JSON level file.
+     *
+     * @param input whole level file.
+     */
+    private void loadJSON(JSONObject input) {
         player = new Player(input.getJSONObject(JSON.PLAYER), this);
         finish = new Finish(input.getJSONObject(JSON.FINISH), this);
         for (Object enemy : input.getJSONArray(JSON.ENEMY)) enemies.add(new Enemy((JSONObject) enemy, this));
@@ -101,113 +211,263 @@ public class Level implements Serializable {
         for (Object healthBox : input.getJSONArray(JSON.HEALTHBOX)) healthBoxes.add(new HealthBox((JSONObject) healthBox, this));
         for (Object ammoBox : input.getJSONArray(JSON.AMMOBOX)) ammoBoxes.add(new AmmoBox((JSONObject) ammoBox, this));
         for (Object obstacle : input.getJSONArray(JSON.OBSTACLE)) obstacles.add(new Obstacle((JSONObject) obstacle, this));
-        for (Object bullet : input.getJSONArray(JSON.BULLET)) bullets.add(new Bullet((JSONObject) bullet, this));
+        for (Object bullet : input.getJSONArray(JSON.BULLET)) bullets.spawn((JSONObject) bullet);
     }
 
     /**
-     * Saves all level information to binary JSON file.
-     * Writes important game objects attributes.
+     * Saves all level information to binary level file.
+     * Writes header with entity counts and seed, fixed-size records of all objects and CRC32 checksum.
      *
      * @param name  level filename.
      * @param dir   directory, where level file will be located.
      */
     public void saveLevel(String name, String dir) {
-        JSONObject jsonLevel = new JSONObject();
+        long start = System.nanoTime();
+        int size = Binary.HEADER + Binary.SOLDIER * (1 + enemies.size())
+                + Binary.ITEM * (1 + docs.size() + healthBoxes.size() + ammoBoxes.size())
+                + Binary.OBSTACLE * obstacles.size() + Binary.BULLET * bullets.getCount() + Binary.TRAILER;
+        ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
 
-        // Save all level objects
-        try {
-            jsonLevel.put(JSON.PLAYER, player.getJSON(GameObject.PLAYER));
+        // Write header
+        buffer.putInt(Binary.MAGIC).putShort(Binary.VERSION).putShort(Binary.CHECKSUM);
+        buffer.putInt(enemies.size()).putInt(docs.size()).putInt(healthBoxes.size()).putInt(ammoBoxes.size());
+        buffer.putInt(obstacles.size()).putInt(bullets.getCount()).putLong(seed);
 
-            jsonLevel.put(JSON.FINISH, finish.getJSON());
-
-            JSONArray jsonEnemies = new JSONArray();
-            for (Enemy enemy : enemies) jsonEnemies.put(enemy.getJSON(GameObject.ENEMY));
-            jsonLevel.put(JSON.ENEMY, jsonEnemies);
-
-            JSONArray jsonDocs = new JSONArray();
-            for (Doc doc : docs) jsonDocs.put(doc.getJSON());
-            jsonLevel.put(JSON.DOC, jsonDocs);
-
-            JSONArray jsonHealthBoxes = new JSONArray();
-            for (HealthBox healthBox : healthBoxes) jsonHealthBoxes.put(healthBox.getJSON());
-            jsonLevel.put(JSON.HEALTHBOX, jsonHealthBoxes);
-
-            JSONArray jsonAmmoBoxes = new JSONArray();
-            for (AmmoBox ammoBox : ammoBoxes) jsonAmmoBoxes.put(ammoBox.getJSON());
-            jsonLevel.put(JSON.AMMOBOX, jsonAmmoBoxes);
-
-            JSONArray jsonObstacles = new JSONArray();
-            for (Obstacle obstacle : obstacles) jsonObstacles.put(obstacle.getJSON());
-            jsonLevel.put(JSON.OBSTACLE, jsonObstacles);
-
-            JSONArray jsonBullets = new JSONArray();
-            for (Bullet bullet : bullets) jsonBullets.put(bullet.getJSON());
-            jsonLevel.put(JSON.BULLET, jsonBullets);
-        } catch (JSONException e) {
-            app.getLogger().error("Unable to proceed JSON object!"); // Logging
-        }
-
-        try {
-            FileOutputStream file = new FileOutputStream(dir + "/" + name + ".bin");
-            file.write(jsonLevel.toString().getBytes(StandardCharsets.UTF_8));
-            file.close();
+        // Save all level objects
+        player.write(buffer);
+        finish.write(buffer);
+        for (Enemy enemy : enemies) enemy.write(buffer);
+        for (Doc doc : docs) doc.write(buffer);
+        for (HealthBox healthBox : healthBoxes) healthBox.write(buffer);
+        for (AmmoBox ammoBox : ammoBoxes) ammoBox.write(buffer);
+        for (Obstacle obstacle : obstacles) obstacle.write(buffer);
+        bullets.write(buffer); // Only flying bullets
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().flip());
+        buffer.putInt((int) crc.getValue());
+        buffer.flip();
+
+        try (FileChannel channel = FileChannel.open(Paths.get(dir + "/" + name + ".bin"), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) channel.write(buffer);
         } catch (IOException e) {
-            app.getLogger().error("Unable to save level!"); // Logging
+            if (app != null) app.getLogger().error("Unable to save level!"); // Logging
         }
+        if (app != null) app.getMetrics().save(System.nanoTime() - start);
     }
 
     /**
      * Updates the level state.
      * Forwards the event to the appropriate objects.
+     * Publishes new render snapshot at the end of the update.
      */
     public void update() {
+        // Index loops - level is updated hundreds of times per second and mustn't allocate iterators
+        long start = System.nanoTime();
         player.update();
-        for (Enemy enemy: enemies) enemy.update();
-        for (Doc doc: docs) doc.update();
-        for (HealthBox healthBox: healthBoxes) healthBox.update();
-        for (AmmoBox ammoBox: ammoBoxes) ammoBox.update();
-        try {
-            for (Bullet bullet: bullets) bullet.update();
-        } catch (ConcurrentModificationException e) {
-            // Avoiding error when new bullet was created with active update
+        long thinking = System.nanoTime();
+        flow.update(player.getHitbox().getCenterX(), player.getHitbox().getCenterY()); // Rebuilt only when the player changes tile
+        scheduler.begin();
+        for (int i = 0; i < enemies.size(); i++) enemies.get(i).perceive();
+        scheduler.end();
+        long thought = System.nanoTime();
+        for (int i = 0; i < enemies.size(); i++) enemies.get(i).update();
+        long moved = System.nanoTime();
+        for (int i = 0; i < docs.size(); i++) docs.get(i).update();
+        for (int i = 0; i < healthBoxes.size(); i++) healthBoxes.get(i).update();
+        for (int i = 0; i < ammoBoxes.size(); i++) ammoBoxes.get(i).update();
+        long collected = System.nanoTime();
+        bullets.update();
+        long shot = System.nanoTime();
+        if (app != null) publish(); // Headless level isn't rendered
+        long end = System.nanoTime();
+        tick++;
+
+        if (app != null) { // Measure update phases
+            Metrics metrics = app.getMetrics();
+            metrics.phase(Metrics.MOVEMENT, (thinking - start) + (moved - thought)); // Player and enemies
+            metrics.phase(Metrics.AI, thought - thinking); // Flow field and scheduled enemies perception
+            metrics.phase(Metrics.COLLECTIBLES, collected - moved);
+            metrics.phase(Metrics.BULLETS, shot - collected);
+            metrics.phase(Metrics.SNAPSHOT, end - shot);
+            metrics.levelUpdate(end - start, bullets.getCount(), enemiesCount, getCollectiblesCount());
+            metrics.perception(scheduler.getUsed(), scheduler.getBudget(), scheduler.getDeferred());
         }
     }
 
+    /**
+     * Returns count of collectibles which weren't taken yet.
+     *
+     * @return active documents, health boxes and ammo boxes count.
+     */
+    public int getCollectiblesCount() {
+        int count = docsCount;
+        for (int i = 0; i < healthBoxes.size(); i++) if (healthBoxes.get(i).isActive()) count++;
+        for (int i = 0; i < ammoBoxes.size(); i++) if (ammoBoxes.get(i).isActive()) count++;
+        return count;
+    }
+
+    /**
+     * Captures current state of all level objects into render snapshot and hands it to the render thread.
+     * Level with application publishes after every update, headless level only when asked (tests, benchmarks).
+     * Must be called from the thread that changes the level.
+     */
+    public void publish() {
+        Snapshot snapshot = snapshots.back();
+        snapshot.clear();
+
+        snapshot.setLayout(layout); // Finish and obstacles are drawn from the cached static layer
+        for (int i = 0; i < enemies.size(); i++) if (enemies.get(i).isDead()) enemies.get(i).render(snapshot); // Rendering dead enemies
+        if (player.isDead()) player.render(snapshot); // Rendering dead player
+        for (int i = 0; i < docs.size(); i++) docs.get(i).render(snapshot);
+        for (int i = 0; i < healthBoxes.size(); i++) healthBoxes.get(i).render(snapshot);
+        for (int i = 0; i < ammoBoxes.size(); i++) ammoBoxes.get(i).render(snapshot);
+        for (int i = 0; i < enemies.size(); i++) if (!enemies.get(i).isDead()) enemies.get(i).render(snapshot); // Rendering alive enemies
+        if (!player.isDead()) player.render(snapshot); // Rendering alive player
+        bullets.render(snapshot);
+        snapshot.setHud(player.getHealth(), player.getAmmo(), enemiesCount, docsCount);
+        snapshot.setTime(System.nanoTime());
+
+        snapshots.publish();
+    }
+
+    /**
+     * Rebuilds description of the static layer after finish or obstacles were changed.
+     * Render thread composes its cached layer again when it gets snapshot with the new description.
+     * Must be called from the update thread.
+     */
+    public void invalidateLayer() {
+        int[] layout = new int[2 + 2 * obstacles.size()];
+        layout[0] = (int) finish.getX();
+        layout[1] = (int) finish.getY();
+        for (int i = 0; i < obstacles.size(); i++) {
+            layout[2 + 2 * i] = (int) obstacles.get(i).getX();
+            layout[3 + 2 * i] = (int) obstacles.get(i).getY();
+        }
+        this.layout = layout;
+    }
+
+    /**
+     * Composes cached static layer from background, finish and obstacles.
+     * Called from the render thread only when the layout has changed.
+     *
+     * @param layout    finish coordinates followed by obstacle coordinates.
+     */
+    private void composeLayer(int[] layout) {
+        if (layer == null) layer = Image.createCompatible(GAME_WIDTH, GAME_HEIGHT, Transparency.OPAQUE);
+        Graphics graphics = layer.createGraphics();
+        graphics.drawImage(background, 0, 0, null);
+        if (layout != null) {
+            graphics.drawImage(Atlas.get(GameObject.FINISH)[0][0][0], layout[0], layout[1], null);
+            BufferedImage box = Atlas.get(GameObject.OBSTACLE)[0][0][0];
+            for (int i = 2; i < layout.length; i += 2) graphics.drawImage(box, layout[i], layout[i + 1], null);
+        }
+        graphics.dispose();
+        layerLayout = layout;
+    }
+
     /**
      * Renders the level on the screen.
-     * Forwards the event to the appropriate objects.
+     * Draws only the last published snapshot, so level objects aren't touched by the render thread.
+     * Static part (background, finish, obstacles) is drawn as one cached image.
+     * Moving objects are interpolated between the last two ticks by the progress of the update loop.
      *
      * @param graphics Graphics object used to draw level objects.
      */
     public void render(Graphics graphics) {
-        graphics.drawImage(background, 0, 0, null);
+        render(graphics, -1);
+    }
 
-        finish.render(graphics);
-        for (Enemy enemy: enemies) if (enemy.isDead()) enemy.render(graphics); // Rendering dead enemies
-        if (player.isDead()) player.render(graphics); // Rendering dead player
-        for (Doc doc: docs) doc.render(graphics);
-        for (HealthBox healthBox: healthBoxes) healthBox.render(graphics);
-        for (AmmoBox ammoBox: ammoBoxes) ammoBox.render(graphics);
-        for (Obstacle obstacle: obstacles) obstacle.render(graphics);
-        for (Enemy enemy: enemies) if (!enemy.isDead()) enemy.render(graphics); // Rendering alive enemies
-        if (!player.isDead()) player.render(graphics); // Rendering alive player
-
-        try {
-            for (Bullet bullet: bullets) bullet.render(graphics);
-        } catch (ConcurrentModificationException e) {
-            // Avoiding error when new bullet was created with active update
-        }
+    /**
+     * Renders the level on the screen with the given interpolation.
+     *
+     * @param graphics  Graphics object used to draw level objects.
+     * @param alpha     progress between the last two ticks (0 to 1), negative to take it from the update loop.
+     */
+    public void render(Graphics graphics, float alpha) {
+        long start = System.nanoTime();
+        Snapshot snapshot = snapshots.latest();
+        if (alpha < 0) alpha = app != null ? app.getUpdateScheduler().getAlpha(snapshot.getTime()) : 1;
+        if (layer == null || snapshot.getLayout() != layerLayout) composeLayer(snapshot.getLayout());
+        graphics.drawImage(layer, 0, 0, null);
+        snapshot.render(graphics, alpha);
+        if (app != null) app.getMetrics().levelRender(System.nanoTime() - start);
     }
 
+    /**
+     * Returns the snapshot drawn by the last render.
+     * Used by the render thread for HUD numbers.
+     *
+     * @return current render snapshot.
+     */
+    public Snapshot getSnapshot() {return snapshots.current();}
+
     /**
      * Randomly loads background for the level.
+     * Headless level (without application) has nothing to draw, so background isn't loaded.
+     * Background has its own generator, so it doesn't change randomness of the game itself.
      */
     private void loadBackground() {
+        if (app == null) return;
         String[] tmp = {GRASS, SAND, MUG, SNOW};
-        int rnd = new Random().nextInt(tmp.length); // Randomly choose from 4 backgrounds
+        int rnd = new Random(seed).nextInt(tmp.length); // Randomly choose from 4 backgrounds
         background = Image.loadImage(tmp[rnd]);
     }
 
+    /**
+     * Returns seed of the level randomness.
+     *
+     * @return level seed.
+     */
+    public long getSeed() {return seed;}
+
+    /**
+     * Returns level random generator.
+     * Must be used from the update thread only.
+     * Objects with their own randomness (enemies) split it, so they don't depend on each other's draws.
+     *
+     * @return level random generator.
+     */
+    public SplittableRandom getRandom() {return random;}
+
+    /**
+     * Returns count of level updates.
+     * Used to stamp player's controls in replays.
+     *
+     * @return count of level ticks.
+     */
+    public long getTick() {return tick;}
+
+    /**
+     * Returns simulation time of the level.
+     * Clock of all animations, it advances with level updates and stops while the game is paused.
+     *
+     * @return elapsed simulation time (nanosec).
+     */
+    public long getTime() {return tick * 1000000000L / UPS;}
+
+    /**
+     * Returns actual frame of the looping animation shared by all objects (e.g. collectibles).
+     *
+     * @param duration  duration of one animation frame (nanosec).
+     * @return index of the animation frame.
+     */
+    public int getFrame(long duration) {return (int) (getTime() / duration % Animation.FRAMES);}
+
+    /**
+     * Returns flow field leading enemies to the player.
+     *
+     * @return flow field of the level.
+     */
+    public FlowField getFlowField() {return flow;}
+
+    /**
+     * Returns scheduler of the enemies perception.
+     *
+     * @return perception scheduler.
+     */
+    public AIScheduler getScheduler() {return scheduler;}
+
     /**
      * Returns the associated game object.
      *
@@ -228,7 +488,9 @@ public class Level implements Serializable {
      * @param player actual player object.
      */
     public void setPlayer(Player player) {
+        grid.remove(this.player);
         this.player = player;
+        grid.add(player);
     }
 
     /**
@@ -243,14 +505,35 @@ public class Level implements Serializable {
      *
      * @return Obstacle objects list.
      */
-    public LinkedList<Obstacle> getObstacles() {return obstacles;}
+    public ArrayList<Obstacle> getObstacles() {return obstacles;}
+
+    /**
+     * Returns pool of bullets of the level.
+     *
+     * @return BulletPool object.
+     */
+    public BulletPool getBullets() {return bullets;}
+
+    /**
+     * Returns collision index of the level.
+     *
+     * @return Grid object.
+     */
+    public Grid getGrid() {return grid;}
+
+    /**
+     * Returns line of sight service of the level.
+     *
+     * @return Sight object.
+     */
+    public Sight getSight() {return sight;}
 
     /**
      * Returns list of health boxes of the level.
      *
      * @return HealthBox objects list.
      */
-    public LinkedList<HealthBox> getHealthBoxes() {
+    public ArrayList<HealthBox> getHealthBoxes() {
         return healthBoxes;
     }
 
@@ -259,7 +542,7 @@ public class Level implements Serializable {
      *
      * @return AmmoBox objects list.
      */
-    public LinkedList<AmmoBox> getAmmoBoxes() {
+    public ArrayList<AmmoBox> getAmmoBoxes() {
         return ammoBoxes;
     }
 
@@ -268,14 +551,14 @@ public class Level implements Serializable {
      *
      * @return Enemy objects list.
      */
-    public LinkedList<Enemy> getEnemies() {return enemies;}
+    public ArrayList<Enemy> getEnemies() {return enemies;}
 
     /**
      * Returns list of documents of the level.
      *
      * @return Doc objects list.
      */
-    public LinkedList<Doc> getDocs() {return docs;}
+    public ArrayList<Doc> getDocs() {return docs;}
 
     /**
      * Returns actual alive enemies count.
@@ -316,7 +599,8 @@ public class Level implements Serializable {
         if (enemies.size() != Limits.ENEMIES) {
             Enemy enemy = new Enemy(x, y, this);
             enemies.add(enemy);
-            if (app != null) app.getLogger().editor("Enemy " + enemy + " was placed at [" + x + "," + y + "]. Enemies count: " + enemies.size() + "."); // Logging
+            grid.add(enemy);
+            if (app != null) app.getLogger().editor("Enemy {} was placed at [{},{}]. Enemies count: {}.", enemy, x, y, enemies.size()); // Logging
         } else {
             if (app != null) app.getAudio().playSound(Sounds.ERROR);
         }
@@ -333,7 +617,7 @@ public class Level implements Serializable {
         if (docs.size() != Limits.DOCS) {
             Doc doc = new Doc(x, y, this);
             docs.add(doc);
-            if (app != null) app.getLogger().editor("Document " + doc + " was placed at [" + x + "," + y + "]. Documents count: " + docs.size() + "."); // Logging
+            if (app != null) app.getLogger().editor("Document {} was placed at [{},{}]. Documents count: {}.", doc, x, y, docs.size()); // Logging
         } else {
             if (app != null) app.getAudio().playSound(Sounds.ERROR);
         }
@@ -350,7 +634,7 @@ public class Level implements Serializable {
         if (healthBoxes.size() != Limits.HEALTHBOX) {
             HealthBox healthBox = new HealthBox(x, y, this);
             healthBoxes.add(healthBox);
-            if (app != null) app.getLogger().editor("Health box " + healthBox + " was placed at [" + x + "," + y + "]. Health boxes count: " + healthBoxes.size() + "."); // Logging
+            if (app != null) app.getLogger().editor("Health box {} was placed at [{},{}]. Health boxes count: {}.", healthBox, x, y, healthBoxes.size()); // Logging
         } else {
             if (app != null) app.getAudio().playSound(Sounds.ERROR);
         }
@@ -367,7 +651,7 @@ public class Level implements Serializable {
         if (ammoBoxes.size() != Limits.AMMOBOX) {
             AmmoBox ammoBox = new AmmoBox(x, y, this);
             ammoBoxes.add(ammoBox);
-            if (app != null) app.getLogger().editor("Ammo box " + ammoBox + " was placed at [" + x + "," + y + "]. Ammo boxes count: " + ammoBoxes.size() + "."); // Logging
+            if (app != null) app.getLogger().editor("Ammo box {} was placed at [{},{}]. Ammo boxes count: {}.", ammoBox, x, y, ammoBoxes.size()); // Logging
         } else {
             if (app != null) app.getAudio().playSound(Sounds.ERROR);
         }
@@ -382,19 +666,23 @@ public class Level implements Serializable {
     public void createObstacle(int x, int y) {
         Obstacle obstacle = new Obstacle(x, y, this);
         obstacles.add(obstacle);
-        if (app != null) app.getLogger().editor("Obstacle " + obstacle + " was placed at [" + x + "," + y + "]. Obstacles count: " + obstacles.size() + "."); // Logging
+        grid.add(obstacle);
+        sight.invalidate();
+        flow.invalidate();
+        invalidateLayer();
+        if (app != null) app.getLogger().editor("Obstacle {} was placed at [{},{}]. Obstacles count: {}.", obstacle, x, y, obstacles.size()); // Logging
     }
 
     /**
      * Makes new bullet at the level.
+     * Reuses slot of a spent bullet if there is one.
      *
      * @param x         x-coordinate of adding object.
      * @param y         x-coordinate of adding object.
      * @param direction bullet movement direction.
-     * @param level     associated Level object.
      */
-    public void createBullet(int x, int y, int direction, Level level) {
-        bullets.add(new Bullet(x, y, direction, level));
+    public void createBullet(int x, int y, int direction) {
+        bullets.spawn(x, y, direction);
     }
 
     /**
@@ -407,8 +695,9 @@ public class Level implements Serializable {
         for (Enemy enemy : enemies) { // Control if there was enemy in provided cell
             if (enemy.getX() == x && enemy.getY() == y) {
                 enemies.remove(enemy);
+                grid.remove(enemy);
                 enemiesCount = enemies.size();
-                if (app != null) app.getLogger().editor("Enemy " + enemy + " was removed from [" + x + "," + y + "]. Enemies count: " + enemies.size() + "."); // Logging
+                if (app != null) app.getLogger().editor("Enemy {} was removed from [{},{}]. Enemies count: {}.", enemy, x, y, enemies.size()); // Logging
                 break;
             }
         }
@@ -417,7 +706,7 @@ public class Level implements Serializable {
             if (doc.getX() == x && doc.getY() == y) {
                 docs.remove(doc);
                 docsCount = docs.size();
-                if (app != null) app.getLogger().editor("Document " + doc + " was removed from [" + x + "," + y + "]. Documents count: " + docs.size() + "."); // Logging
+                if (app != null) app.getLogger().editor("Document {} was removed from [{},{}]. Documents count: {}.", doc, x, y, docs.size()); // Logging
                 break;
             }
         }
@@ -425,7 +714,7 @@ public class Level implements Serializable {
         for (HealthBox healthBox : healthBoxes) {  // Control if there was health box in provided cell
             if (healthBox.getX() == x && healthBox.getY() == y) {
                 healthBoxes.remove(healthBox);
-                if (app != null) app.getLogger().editor("Health box " + healthBox + " was removed from [" + x + "," + y + "]. Health boxes count: " + healthBoxes.size() + "."); // Logging
+                if (app != null) app.getLogger().editor("Health box {} was removed from [{},{}]. Health boxes count: {}.", healthBox, x, y, healthBoxes.size()); // Logging
                 break;
             }
         }
@@ -433,7 +722,7 @@ public class Level implements Serializable {
         for (AmmoBox ammoBox : ammoBoxes) {  // Control if there was ammo box in provided cell
             if (ammoBox.getX() == x && ammoBox.getY() == y) {
                 ammoBoxes.remove(ammoBox);
-                if (app != null) app.getLogger().editor("Ammo box " + ammoBox + " was removed from [" + x + "," + y + "]. Ammo boxes count: " + ammoBoxes.size() + "."); // Logging
+                if (app != null) app.getLogger().editor("Ammo box {} was removed from [{},{}]. Ammo boxes count: {}.", ammoBox, x, y, ammoBoxes.size()); // Logging
                 break;
             }
         }
@@ -441,7 +730,11 @@ public class Level implements Serializable {
         for (Obstacle obstacle : obstacles) {  // Control if there was obstacle in provided cell
             if (obstacle.getX() == x && obstacle.getY() == y) {
                 obstacles.remove(obstacle);
-                if (app != null) app.getLogger().editor("Obstacle " + obstacle + " was removed from [" + x + "," + y + "]. Obstacles count: " + obstacles.size() + "."); // Logging
+                grid.remove(obstacle);
+                sight.invalidate();
+                flow.invalidate();
+                invalidateLayer();
+                if (app != null) app.getLogger().editor("Obstacle {} was removed from [{},{}]. Obstacles count: {}.", obstacle, x, y, obstacles.size()); // Logging
                 break;
             }
         }
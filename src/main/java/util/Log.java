@@ -2,15 +2,21 @@ package util;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.MarkerManager;
 
 /**
  * Game logger manager.
  * Writes game, editor and error messages to toysoldiers.log.
- * Uses Log4J logger.
+ * Uses asynchronous Log4J logger - messages are formatted on the caller's thread, only writing is done by the logging thread.
+ * Messages with {} placeholders cost nothing while logging isn't active.
  */
 public class Log {
+    private static final Logger LOGGER = LogManager.getLogger(); // Log4J logger
+    private static final Marker GAME = MarkerManager.getMarker("GAME"); // marker of Game state messages
+    private static final Marker EDITOR = MarkerManager.getMarker("EDITOR"); // marker of Editor state messages
+    private static final Marker ERROR = MarkerManager.getMarker("ERROR"); // marker of error messages
     private final boolean active; // is logging active
-    private static final Logger LOGGER = LogManager.getLogger(); //
 
     /**
      * Constructor for the Logger manager.
@@ -27,7 +33,40 @@ public class Log {
      * @param message message to log.
      */
     public void game(String message) {
-        if (active) LOGGER.info("[GAME] " + message);
+        if (active) LOGGER.info(GAME, message);
+    }
+
+    /**
+     * Writes logging messages for Game state.
+     *
+     * @param message message with {} placeholder.
+     * @param arg     placeholder value.
+     */
+    public void game(String message, Object arg) {
+        if (active) LOGGER.info(GAME, message, arg);
+    }
+
+    /**
+     * Writes logging messages for Game state.
+     *
+     * @param message message with two {} placeholders.
+     * @param arg1    first placeholder value.
+     * @param arg2    second placeholder value.
+     */
+    public void game(String message, Object arg1, Object arg2) {
+        if (active) LOGGER.info(GAME, message, arg1, arg2);
+    }
+
+    /**
+     * Writes logging messages for Game state.
+     *
+     * @param message message with three {} placeholders.
+     * @param arg1    first placeholder value.
+     * @param arg2    second placeholder value.
+     * @param arg3    third placeholder value.
+     */
+    public void game(String message, Object arg1, Object arg2, Object arg3) {
+        if (active) LOGGER.info(GAME, message, arg1, arg2, arg3);
     }
 
     /**
@@ -36,7 +75,53 @@ public class Log {
      * @param message message to log.
      */
     public void editor(String message) {
-        if (active) LOGGER.info("[EDITOR] " + message);
+        if (active) LOGGER.info(EDITOR, message);
+    }
+
+    /**
+     * Writes logging messages for Editor state.
+     *
+     * @param message message with {} placeholder.
+     * @param arg     placeholder value.
+     */
+    public void editor(String message, Object arg) {
+        if (active) LOGGER.info(EDITOR, message, arg);
+    }
+
+    /**
+     * Writes logging messages for Editor state.
+     *
+     * @param message message with two {} placeholders.
+     * @param arg1    first placeholder value.
+     * @param arg2    second placeholder value.
+     */
+    public void editor(String message, Object arg1, Object arg2) {
+        if (active) LOGGER.info(EDITOR, message, arg1, arg2);
+    }
+
+    /**
+     * Writes logging messages for Editor state.
+     *
+     * @param message message with three {} placeholders.
+     * @param arg1    first placeholder value.
+     * @param arg2    second placeholder value.
+     * @param arg3    third placeholder value.
+     */
+    public void editor(String message, Object arg1, Object arg2, Object arg3) {
+        if (active) LOGGER.info(EDITOR, message, arg1, arg2, arg3);
+    }
+
+    /**
+     * Writes logging messages for Editor state.
+     *
+     * @param message message with four {} placeholders.
+     * @param arg1    first placeholder value.
+     * @param arg2    second placeholder value.
+     * @param arg3    third placeholder value.
+     * @param arg4    fourth placeholder value.
+     */
+    public void editor(String message, Object arg1, Object arg2, Object arg3, Object arg4) {
+        if (active) LOGGER.info(EDITOR, message, arg1, arg2, arg3, arg4);
     }
 
     /**
@@ -45,6 +130,16 @@ public class Log {
      * @param message message to log.
      */
     public void error(String message) {
-        if (active) LOGGER.error("[ERROR] " + message);
+        if (active) LOGGER.error(ERROR, message);
+    }
+
+    /**
+     * Writes error logging messages.
+     *
+     * @param message message with {} placeholder.
+     * @param arg     placeholder value.
+     */
+    public void error(String message, Object arg) {
+        if (active) LOGGER.error(ERROR, message, arg);
     }
 }
@@ -0,0 +1,282 @@
+package util;
+
+import static util.Const.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Runtime metrics of the game.
+ * Collects durations of ticks, frames, level updates, renders, loads and saves, entity counts and allocated memory.
+ * Recording is lock-free and doesn't allocate, values are read through JMX.
+ */
+public class Metrics implements MetricsMBean {
+    public static final String NAME = "toysoldiers:type=Metrics"; // JMX name of the metrics
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean(); // source of the allocated bytes
+    public static final int AI = 0, MOVEMENT = 1, COLLECTIBLES = 2, BULLETS = 3, SNAPSHOT = 4; // phases of the level update
+    public static final int PHASES = 5; // count of the level update phases
+    public static final int GRAPH = 240; // count of the last frames kept for the frame-time graph
+
+    private final Histogram tick = new Histogram(); // durations of update loop ticks (nanosec)
+    private final Histogram frame = new Histogram(); // durations of rendered frames (nanosec)
+    private final Histogram levelUpdate = new Histogram(); // durations of level updates (nanosec)
+    private final Histogram levelRender = new Histogram(); // durations of level renders (nanosec)
+    private final Histogram load = new Histogram(); // durations of level loads (nanosec)
+    private final Histogram save = new Histogram(); // durations of level saves (nanosec)
+    private final long budget = 1000000000L / UPS; // time available for one tick (nanosec)
+    private final AtomicLong overruns = new AtomicLong(); // count of ticks longer than the budget
+    private volatile int bullets, enemies, collectibles; // live entity counts of the last update
+    private volatile int perceptions, perceptionBudget; // enemies perceptions of the last update and their limit
+    private volatile long perceptionsDeferred; // enemies perceptions postponed over the limit
+    private volatile long updateThread = -1, renderThread = -1; // ids of the measured threads
+    private final AtomicLongArray phases = new AtomicLongArray(PHASES); // smoothed durations of the level update phases (nanosec)
+    private final long[] intervals = new long[GRAPH]; // times between the last frames (nanosec, render thread only)
+    private int interval; // position of the next frame interval
+    private long lastFrame; // time of the previous frame (nanosec)
+
+    /**
+     * Registers the metrics in the platform MBean server.
+     *
+     * @return true if metrics were registered, false otherwise.
+     */
+    public boolean register() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(NAME);
+            if (server.isRegistered(name)) server.unregisterMBean(name);
+            server.registerMBean(this, name);
+            return true;
+        } catch (JMException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Records duration of the update loop tick.
+     * Counts the tick as overrun if it took longer than the UPS budget.
+     *
+     * @param nanos tick duration (nanosec).
+     */
+    public void tick(long nanos) {
+        if (updateThread == -1) updateThread = Thread.currentThread().getId();
+        tick.record(nanos);
+        if (nanos > budget) overruns.incrementAndGet();
+    }
+
+    /**
+     * Records duration of the rendered frame.
+     *
+     * @param nanos frame duration (nanosec).
+     */
+    public void frame(long nanos) {
+        if (renderThread == -1) renderThread = Thread.currentThread().getId();
+        frame.record(nanos);
+
+        long now = System.nanoTime();
+        if (lastFrame != 0) {
+            intervals[interval] = now - lastFrame;
+            interval = (interval + 1) % GRAPH;
+        }
+        lastFrame = now;
+    }
+
+    /**
+     * Records duration of the level update phase.
+     * Keeps smoothed value, so single slow ticks don't make the number jump.
+     * Must be called from the update thread only.
+     *
+     * @param phase phase of the update (AI, MOVEMENT, COLLECTIBLES, BULLETS or SNAPSHOT).
+     * @param nanos phase duration (nanosec).
+     */
+    public void phase(int phase, long nanos) {
+        long smoothed = phases.get(phase);
+        phases.lazySet(phase, smoothed + (nanos - smoothed) / 16);
+    }
+
+    /**
+     * Returns smoothed duration of the level update phase.
+     *
+     * @param phase phase of the update (AI, MOVEMENT, COLLECTIBLES, BULLETS or SNAPSHOT).
+     * @return phase duration (nanosec).
+     */
+    public long getPhase(int phase) {
+        return phases.get(phase);
+    }
+
+    /**
+     * Returns time between frames for the frame-time graph.
+     * Must be called from the render thread only.
+     *
+     * @param age how many frames ago (0 for the last frame).
+     * @return time between the frame and its previous frame (nanosec).
+     */
+    public long getInterval(int age) {
+        return intervals[Math.floorMod(interval - 1 - age, GRAPH)];
+    }
+
+    /**
+     * Records duration of the level update and live entity counts.
+     *
+     * @param nanos         update duration (nanosec).
+     * @param bullets       count of flying bullets.
+     * @param enemies       count of alive enemies.
+     * @param collectibles  count of collectibles left on the level.
+     */
+    public void levelUpdate(long nanos, int bullets, int enemies, int collectibles) {
+        levelUpdate.record(nanos);
+        this.bullets = bullets;
+        this.enemies = enemies;
+        this.collectibles = collectibles;
+    }
+
+    /**
+     * Records usage of the enemies perception budget.
+     *
+     * @param used      perceptions made in the last tick.
+     * @param budget    maximum count of perceptions per tick.
+     * @param deferred  count of perceptions postponed over the budget.
+     */
+    public void perception(int used, int budget, long deferred) {
+        perceptions = used;
+        perceptionBudget = budget;
+        perceptionsDeferred = deferred;
+    }
+
+    /**
+     * Records duration of the level render.
+     *
+     * @param nanos render duration (nanosec).
+     */
+    public void levelRender(long nanos) {
+        levelRender.record(nanos);
+    }
+
+    /**
+     * Records duration of the level loading.
+     *
+     * @param nanos load duration (nanosec).
+     */
+    public void load(long nanos) {
+        load.record(nanos);
+    }
+
+    /**
+     * Records duration of the level saving.
+     *
+     * @param nanos save duration (nanosec).
+     */
+    public void save(long nanos) {
+        save.record(nanos);
+    }
+
+    /**
+     * Returns histogram of update loop ticks.
+     *
+     * @return ticks histogram (nanosec).
+     */
+    public Histogram getTickHistogram() {
+        return tick;
+    }
+
+    /**
+     * Returns histogram of rendered frames.
+     *
+     * @return frames histogram (nanosec).
+     */
+    public Histogram getFrameHistogram() {
+        return frame;
+    }
+
+    @Override
+    public long getTicks() {return tick.getCount();}
+
+    @Override
+    public double getTickMean() {return tick.getMean() / 1000;}
+
+    @Override
+    public long getTickP99() {return tick.getPercentile(99) / 1000;}
+
+    @Override
+    public long getTickMax() {return tick.getMax() / 1000;}
+
+    @Override
+    public long getTickBudget() {return budget / 1000;}
+
+    @Override
+    public long getOverruns() {return overruns.get();}
+
+    @Override
+    public long getFrames() {return frame.getCount();}
+
+    @Override
+    public double getFrameMean() {return frame.getMean() / 1000;}
+
+    @Override
+    public long getFrameP99() {return frame.getPercentile(99) / 1000;}
+
+    @Override
+    public long getFrameMax() {return frame.getMax() / 1000;}
+
+    @Override
+    public double getLevelUpdateMean() {return levelUpdate.getMean() / 1000;}
+
+    @Override
+    public double getLevelRenderMean() {return levelRender.getMean() / 1000;}
+
+    @Override
+    public long getLoadLast() {return load.getLast() / 1000;}
+
+    @Override
+    public long getSaveLast() {return save.getLast() / 1000;}
+
+    @Override
+    public int getBullets() {return bullets;}
+
+    @Override
+    public int getEnemies() {return enemies;}
+
+    @Override
+    public int getCollectibles() {return collectibles;}
+
+    @Override
+    public int getPerceptions() {return perceptions;}
+
+    @Override
+    public int getPerceptionBudget() {return perceptionBudget;}
+
+    @Override
+    public long getPerceptionsDeferred() {return perceptionsDeferred;}
+
+    @Override
+    public long getUpdateAllocatedBytes() {return allocated(updateThread);}
+
+    @Override
+    public long getRenderAllocatedBytes() {return allocated(renderThread);}
+
+    /**
+     * Returns count of bytes allocated by the thread since its start.
+     *
+     * @param thread id of the thread.
+     * @return allocated bytes, -1 if thread isn't known or JVM doesn't measure allocations.
+     */
+    private long allocated(long thread) {
+        if (thread == -1 || !(THREADS instanceof com.sun.management.ThreadMXBean threads)) return -1;
+        return threads.getThreadAllocatedBytes(thread);
+    }
+
+    @Override
+    public void reset() {
+        tick.reset();
+        frame.reset();
+        levelUpdate.reset();
+        levelRender.reset();
+        load.reset();
+        save.reset();
+        overruns.set(0);
+    }
+}
@@ -0,0 +1,38 @@
+package util;
+
+/**
+ * Management interface of the game metrics.
+ * Shown in JConsole under toysoldiers:type=Metrics.
+ * Durations are in microseconds.
+ */
+public interface MetricsMBean {
+    long getTicks();
+    double getTickMean();
+    long getTickP99();
+    long getTickMax();
+    long getTickBudget();
+    long getOverruns();
+
+    long getFrames();
+    double getFrameMean();
+    long getFrameP99();
+    long getFrameMax();
+
+    double getLevelUpdateMean();
+    double getLevelRenderMean();
+    long getLoadLast();
+    long getSaveLast();
+
+    int getBullets();
+    int getEnemies();
+    int getCollectibles();
+
+    int getPerceptions();
+    int getPerceptionBudget();
+    long getPerceptionsDeferred();
+
+    long getUpdateAllocatedBytes();
+    long getRenderAllocatedBytes();
+
+    void reset();
+}
@@ -0,0 +1,158 @@
+package util;
+
+import static util.Const.Sounds.*;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import javax.sound.sampled.*;
+
+/**
+ * Streaming player of the background music.
+ * Song files aren't loaded into memory - music thread decodes them in small chunks straight into the output line.
+ * Songs are looped until another song is requested, requesting the playing song starts it again from the beginning.
+ */
+public class MusicStream {
+    private final Thread thread; // music thread
+    private final byte[] chunk = new byte[STREAM_CHUNK]; // decoded part of the song
+    private final AtomicLong request = new AtomicLong(0xFFFFFFFFL); // count of song requests (high half) and requested song (low half, -1 for silence)
+    private volatile int playing = -1; // song which is streamed at the moment (-1 for silence)
+    private volatile int switches; // count of song requests handled by the music thread
+    private SourceDataLine line; // output line (music thread only)
+
+    /**
+     * Constructor for the MusicStream.
+     * Starts music thread, which sleeps until the first song is requested.
+     */
+    public MusicStream() {
+        thread = new Thread(this::run, "Music");
+        thread.setDaemon(true); // Doesn't stop program exit
+        thread.start();
+    }
+
+    /**
+     * Requests the song to be played.
+     * Returns immediately, the song is switched by the music thread.
+     * Song which is already playing is restarted, as clips did before.
+     *
+     * @param song index of the song to play.
+     */
+    public void play(int song) {
+        request.updateAndGet(r -> ((r >>> 32) + 1) << 32 | (song & 0xFFFFFFFFL)); // Count and song change together
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * Streams requested songs until the program ends.
+     * Switches (or restarts) the song between two chunks when a song is requested.
+     */
+    private void run() {
+        int handled = 0; // count of handled song requests
+        AudioInputStream stream = null;
+
+        while (true) {
+            long state = request.get(); // One read, so the song always belongs to the count
+            int count = (int) (state >>> 32);
+            if (count != handled) { // Song was requested (switched or restarted)
+                handled = count;
+                close(stream);
+                if (line != null) line.flush(); // Drop the rest of the previous song
+                playing = (int) state;
+                stream = open(playing);
+                switches++;
+            }
+
+            if (stream == null) { // Nothing to play
+                LockSupport.park(this);
+                continue;
+            }
+
+            try {
+                int read = stream.read(chunk, 0, chunk.length - chunk.length % stream.getFormat().getFrameSize());
+                if (read == -1) { // Loop the background song
+                    close(stream);
+                    stream = open(playing);
+                } else {
+                    line.write(chunk, 0, read);
+                }
+            } catch (IOException e) {
+                close(stream);
+                stream = null;
+            }
+        }
+    }
+
+    /**
+     * Returns the song which is streamed at the moment.
+     *
+     * @return index of the song, -1 for silence.
+     */
+    public int getPlaying() {
+        return playing;
+    }
+
+    /**
+     * Returns count of song switches and restarts done by the music thread.
+     * Requests made faster than the music thread handles them are merged into one switch.
+     *
+     * @return handled song requests count.
+     */
+    public int getSwitches() {
+        return switches;
+    }
+
+    /**
+     * Opens decoder of the song and output line for its format.
+     *
+     * @param song index of the song.
+     * @return decoded PCM stream, null if the song or audio device is missing.
+     */
+    private AudioInputStream open(int song) {
+        if (song < 0 || song >= SONGS.length) return null;
+        URL url = getClass().getResource("/audio/" + SONGS[song] + ".wav");
+        if (url == null) return null; // Controls file existence
+
+        try {
+            AudioInputStream source = AudioSystem.getAudioInputStream(url);
+            AudioFormat format = source.getFormat();
+            AudioFormat pcm = new AudioFormat(format.getSampleRate(), 16, format.getChannels(), true, false);
+            AudioInputStream stream = AudioSystem.getAudioInputStream(pcm, source);
+
+            if (line == null || !line.getFormat().matches(pcm)) { // Reopen output line for other format
+                if (line != null) line.close();
+                line = AudioSystem.getSourceDataLine(pcm);
+                line.open(pcm);
+                setVolume();
+                line.start();
+            }
+            return stream;
+        } catch (UnsupportedAudioFileException | IOException | LineUnavailableException | IllegalArgumentException e) {
+            if (line != null && !line.isOpen()) line = null;
+            return null;
+        }
+    }
+
+    /**
+     * Closes decoder of the song.
+     *
+     * @param stream decoded stream (can be null).
+     */
+    private void close(AudioInputStream stream) {
+        if (stream == null) return;
+        try {
+            stream.close();
+        } catch (IOException ignored) {}
+    }
+
+    /**
+     * Sets the volume of the output line to the default value.
+     */
+    private void setVolume() {
+        if (!line.isControlSupported(FloatControl.Type.MASTER_GAIN)) return;
+        FloatControl gainControl = (FloatControl) line.getControl(FloatControl.Type.MASTER_GAIN);
+        float range = gainControl.getMaximum() - gainControl.getMinimum();
+        float gain = (range * VOLUME) + gainControl.getMinimum();
+        gainControl.setValue(gain);
+    }
+}
@@ -0,0 +1,174 @@
+package util;
+
+import static util.Const.Sounds.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.sound.sampled.*;
+
+/**
+ * Software mixer of the effect sounds.
+ * Sounds are decoded once into 16-bit stereo samples shared by all mixers.
+ * Playing voices are summed in Java, scaled by software gain and written into one output line.
+ * Must be used only from the audio thread.
+ */
+public class PcmMixer {
+    public static final AudioFormat FORMAT = new AudioFormat(RATE, 16, 2, true, false); // output format
+    private static final Map<String, short[]> CACHE = new ConcurrentHashMap<>(); // decoded sounds (interleaved stereo samples)
+
+    private final short[][] samples; // samples of every effect sound
+    private final int[] voiceSound = new int[MIX_VOICES]; // sound played by the voice (-1 if voice is free)
+    private final int[] voicePosition = new int[MIX_VOICES]; // next sample of the voice
+    private final long[] voiceStart = new long[MIX_VOICES]; // order of voice starts (to reuse the oldest)
+    private final int[] mix = new int[MIX_FRAMES * 2]; // sum of voices before clipping
+    private final byte[] output = new byte[MIX_FRAMES * 4]; // mixed block in output format
+    private final float gain; // software volume (linear)
+    private final SourceDataLine line; // output line (null if audio device is missing)
+    private long starts; // count of started voices
+
+    /**
+     * Constructor for the PcmMixer.
+     * Decodes all effect sounds (or takes them from cache) and opens output line.
+     */
+    public PcmMixer() {
+        samples = new short[SOUNDS.length][];
+        for (int i = 0; i < SOUNDS.length; i++) samples[i] = decode(SOUNDS[i]);
+        Arrays.fill(voiceSound, -1);
+
+        // Same loudness as clip volume with standard master gain range (-80 dB to +6 dB)
+        gain = (float) Math.pow(10, ((6.0206f + 80f) * VOLUME - 80f) / 20);
+
+        SourceDataLine opened = null;
+        try {
+            opened = AudioSystem.getSourceDataLine(FORMAT);
+            opened.open(FORMAT, output.length * 4); // Few blocks only - low latency
+            opened.start();
+        } catch (LineUnavailableException | IllegalArgumentException ignored) {
+            opened = null;
+        }
+        line = opened;
+    }
+
+    /**
+     * Returns samples of the sound in the output format.
+     * Sound file is decoded only once for all mixers.
+     *
+     * @param name name of the file to load, without the .wav extension.
+     * @return interleaved stereo samples (empty if file can't be read).
+     */
+    public static short[] decode(String name) {
+        return CACHE.computeIfAbsent(name, PcmMixer::load);
+    }
+
+    /**
+     * Reads sound file and converts it into 16-bit stereo samples at the output rate.
+     *
+     * @param name name of the file to load, without the .wav extension.
+     * @return interleaved stereo samples (empty if file can't be read).
+     */
+    private static short[] load(String name) {
+        URL url = PcmMixer.class.getResource("/audio/" + name + ".wav");
+        if (url == null) return new short[0];
+        try (AudioInputStream source = AudioSystem.getAudioInputStream(url)) {
+            AudioFormat format = source.getFormat();
+            int channels = format.getChannels();
+            AudioFormat pcm = new AudioFormat(format.getSampleRate(), 16, channels, true, false);
+            byte[] bytes;
+            try (AudioInputStream decoded = AudioSystem.getAudioInputStream(pcm, source)) {
+                ByteArrayOutputStream data = new ByteArrayOutputStream();
+                decoded.transferTo(data);
+                bytes = data.toByteArray();
+            }
+
+            ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+            int frames = bytes.length / (2 * channels);
+            double step = format.getSampleRate() / RATE; // Source frames per output frame
+            int length = (int) (frames / step);
+            short[] result = new short[length * 2];
+            for (int i = 0; i < length; i++) { // Linear resampling
+                double at = i * step;
+                int frame = (int) at;
+                int next = Math.min(frame + 1, frames - 1);
+                double t = at - frame;
+                for (int c = 0; c < 2; c++) {
+                    int channel = Math.min(c, channels - 1); // Mono is copied to both channels
+                    short a = buffer.getShort((frame * channels + channel) * 2);
+                    short b = buffer.getShort((next * channels + channel) * 2);
+                    result[i * 2 + c] = (short) Math.round(a + (b - a) * t);
+                }
+            }
+            return result;
+        } catch (UnsupportedAudioFileException | IOException | IllegalArgumentException e) {
+            return new short[0];
+        }
+    }
+
+    /**
+     * Starts the specified sound effect on a free voice.
+     * If all voices are playing, the oldest one is reused.
+     *
+     * @param sound index of the sound to play.
+     */
+    public void start(int sound) {
+        int voice = 0;
+        for (int i = 0; i < MIX_VOICES; i++) {
+            if (voiceSound[i] == -1) {voice = i; break;}
+            if (voiceStart[i] < voiceStart[voice]) voice = i;
+        }
+        voiceSound[voice] = sound;
+        voicePosition[voice] = 0;
+        voiceStart[voice] = starts++;
+    }
+
+    /**
+     * Controls if any voice is playing.
+     *
+     * @return true if mixer has something to play, false otherwise.
+     */
+    public boolean isActive() {
+        for (int sound : voiceSound) if (sound != -1) return true;
+        return false;
+    }
+
+    /**
+     * Mixes next block of all playing voices and writes it into the output line.
+     * Blocks until the line accepts the block, so it paces the audio thread.
+     */
+    public void mix() {
+        Arrays.fill(mix, 0);
+        for (int v = 0; v < MIX_VOICES; v++) {
+            if (voiceSound[v] == -1) continue;
+            short[] sound = samples[voiceSound[v]];
+            int position = voicePosition[v];
+            int count = Math.min(mix.length, sound.length - position);
+            for (int i = 0; i < count; i++) mix[i] += sound[position + i];
+            voicePosition[v] = position + count;
+            if (voicePosition[v] >= sound.length) voiceSound[v] = -1; // Sound is over
+        }
+
+        for (int i = 0; i < mix.length; i++) {
+            int sample = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, Math.round(mix[i] * gain)));
+            output[i * 2] = (byte) sample;
+            output[i * 2 + 1] = (byte) (sample >> 8);
+        }
+
+        if (line != null) line.write(output, 0, output.length);
+    }
+
+    /**
+     * Returns count of playing voices.
+     *
+     * @return playing voices count.
+     */
+    public int getActiveVoices() {
+        int active = 0;
+        for (int sound : voiceSound) if (sound != -1) active++;
+        return active;
+    }
+}
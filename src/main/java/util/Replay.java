@@ -0,0 +1,282 @@
+package util;
+
+import main.Application;
+import static util.Const.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Recording of one played level.
+ * Keeps level file with its checksum, seed of the level randomness and player's controls stamped with level ticks.
+ * Level created from the replay and fed by its controls develops exactly as the recorded game.
+ * Level file can be rewritten later (saved games), so the replay refuses to create level from a changed file.
+ */
+public class Replay {
+    private final String name, dir; // level file of the replay
+    private final long seed; // seed of the level randomness
+    private final int checksum; // CRC32 of the level file at the start of the recording
+    private int length; // count of recorded level ticks
+    private int count; // count of recorded controls
+    private int[] ticks = new int[64]; // ticks of the controls
+    private short[] keys = new short[64]; // key codes of the controls
+    private boolean[] pressed = new boolean[64]; // key was pressed (true) or released (false)
+
+    /**
+     * Constructor for the Replay.
+     * Creates empty recording of the actual level file.
+     *
+     * @param name  level filename.
+     * @param dir   directory, where level file is located.
+     * @param seed  seed of the level randomness.
+     */
+    public Replay(String name, String dir, long seed) {
+        this(name, dir, seed, checksum(name, dir));
+    }
+
+    /**
+     * Constructor for the Replay.
+     * Creates empty recording of the level file with known checksum.
+     *
+     * @param name      level filename.
+     * @param dir       directory, where level file is located.
+     * @param seed      seed of the level randomness.
+     * @param checksum  CRC32 of the recorded level file.
+     */
+    private Replay(String name, String dir, long seed, int checksum) {
+        this.name = name;
+        this.dir = dir;
+        this.seed = seed;
+        this.checksum = checksum;
+    }
+
+    /**
+     * Calculates checksum of the level file.
+     *
+     * @param name  level filename.
+     * @param dir   directory, where level file is located.
+     * @return CRC32 of the file content, zero if the file can't be read.
+     */
+    private static int checksum(String name, String dir) {
+        try {
+            CRC32 crc = new CRC32();
+            crc.update(Files.readAllBytes(Paths.get(dir + "/" + name + ".bin")));
+            return (int) crc.getValue();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Controls if the level file was changed since the recording (e.g. saved game was saved again).
+     *
+     * @return true if the level file differs from the recorded one, false otherwise.
+     */
+    public boolean isLevelChanged() {
+        return checksum(name, dir) != checksum;
+    }
+
+    /**
+     * Records player's control.
+     * Must be called from the update thread before the level update of the tick.
+     *
+     * @param tick      level tick when the control is applied.
+     * @param key       key code of the control.
+     * @param down      true if the key was pressed, false if released.
+     */
+    public void record(long tick, int key, boolean down) {
+        if (count == ticks.length) { // Grow arrays (amortized, recording is rare compared to ticks)
+            ticks = Arrays.copyOf(ticks, count * 2);
+            keys = Arrays.copyOf(keys, count * 2);
+            pressed = Arrays.copyOf(pressed, count * 2);
+        }
+        ticks[count] = (int) tick;
+        keys[count] = (short) key;
+        pressed[count] = down;
+        count++;
+        length = Math.max(length, (int) tick);
+    }
+
+    /**
+     * Creates level of the replay.
+     *
+     * @param app   associated Game object (null for headless replay).
+     * @return level in its recorded initial state.
+     * @throws IllegalStateException if the level file was changed since the recording.
+     */
+    public Level createLevel(Application app) {
+        if (isLevelChanged()) throw new IllegalStateException("Level file '" + dir + "/" + name + "' was changed since the recording.");
+        return new Level(name, dir, app, seed);
+    }
+
+    /**
+     * Applies all recorded controls of the actual level tick.
+     * Must be called before the level update.
+     * Position in the replay is kept by the caller, so one replay can be played by more levels.
+     *
+     * @param level     level created by this replay.
+     * @param cursor    index of the next control to apply.
+     * @return index of the next control to apply in the following ticks.
+     */
+    public int apply(Level level, int cursor) {
+        while (cursor < count && ticks[cursor] <= level.getTick()) {
+            level.getPlayer().control(keys[cursor], pressed[cursor]);
+            cursor++;
+        }
+        return cursor;
+    }
+
+    /**
+     * Controls if the whole replay was played.
+     *
+     * @param level level created by this replay.
+     * @return true if all recorded ticks were played, false otherwise.
+     */
+    public boolean isFinished(Level level) {
+        return level.getTick() >= length;
+    }
+
+    /**
+     * Marks the end of the recording.
+     *
+     * @param tick  last recorded level tick.
+     */
+    public void finish(long tick) {
+        length = Math.max(length, (int) tick);
+    }
+
+    /**
+     * Saves the replay to the file.
+     * Writes header, names of the level, fixed-size controls and CRC32 checksum.
+     *
+     * @param file  path of the replay file.
+     * @throws UncheckedIOException if the file can't be written.
+     */
+    public void save(String file) {
+        byte[] level = name.getBytes(StandardCharsets.UTF_8), folder = dir.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(Replays.HEADER + 4 + level.length + folder.length + Replays.EVENT * count + Replays.TRAILER)
+                .order(ByteOrder.LITTLE_ENDIAN);
+
+        // Write header and level names
+        buffer.putInt(Replays.MAGIC).putShort(Replays.VERSION).putShort((short) 0);
+        buffer.putLong(seed).putInt(length).putInt(count).putInt(checksum);
+        buffer.putShort((short) level.length).put(level);
+        buffer.putShort((short) folder.length).put(folder);
+
+        // Write controls
+        for (int i = 0; i < count; i++) buffer.putInt(ticks[i]).putShort(keys[i]).put((byte) (pressed[i] ? 1 : 0));
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().flip());
+        buffer.putInt((int) crc.getValue());
+        buffer.flip();
+
+        try {
+            Path path = Paths.get(file);
+            if (path.getParent() != null) Files.createDirectories(path.getParent());
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (buffer.hasRemaining()) channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Loads the replay from the file.
+     * Controls file signature, version, size and checksum.
+     *
+     * @param file  path of the replay file.
+     * @return loaded replay.
+     * @throws UncheckedIOException if the file can't be read or is damaged.
+     */
+    public static Replay load(String file) {
+        try (FileChannel channel = FileChannel.open(Paths.get(file), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+            while (buffer.hasRemaining()) if (channel.read(buffer) == -1) break;
+            buffer.flip();
+
+            if (buffer.remaining() < Replays.HEADER + 4 + Replays.TRAILER || buffer.getInt() != Replays.MAGIC) throw new IOException("Not a replay file.");
+            short version = buffer.getShort();
+            if (version > Replays.VERSION) throw new IOException("Replay was made by newer game version.");
+            if (version < Replays.VERSION) throw new IOException("Replay was made by older game version without level checksum.");
+            buffer.getShort(); // Flags are reserved
+
+            CRC32 crc = new CRC32();
+            crc.update(buffer.duplicate().position(0).limit(buffer.limit() - Replays.TRAILER));
+            if ((int) crc.getValue() != buffer.getInt(buffer.limit() - Replays.TRAILER)) throw new IOException("Replay file is damaged.");
+
+            long seed = buffer.getLong();
+            int length = buffer.getInt();
+            int count = buffer.getInt();
+            int checksum = buffer.getInt();
+            byte[] level = new byte[buffer.getShort()];
+            buffer.get(level);
+            byte[] folder = new byte[buffer.getShort()];
+            buffer.get(folder);
+            if (buffer.remaining() != Replays.EVENT * count + Replays.TRAILER) throw new IOException("Replay file has wrong size.");
+
+            Replay replay = new Replay(new String(level, StandardCharsets.UTF_8), new String(folder, StandardCharsets.UTF_8), seed, checksum);
+            for (int i = 0; i < count; i++) replay.record(buffer.getInt(), buffer.getShort(), buffer.get() != 0);
+            replay.finish(length);
+            return replay;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns level filename of the replay.
+     *
+     * @return level filename.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns directory of the level file.
+     *
+     * @return directory, where level file is located.
+     */
+    public String getDir() {
+        return dir;
+    }
+
+    /**
+     * Returns seed of the level randomness.
+     *
+     * @return level seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns count of recorded level ticks.
+     *
+     * @return replay length in ticks.
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Returns count of recorded controls.
+     *
+     * @return recorded controls count.
+     */
+    public int getCount() {
+        return count;
+    }
+}
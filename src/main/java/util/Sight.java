@@ -0,0 +1,171 @@
+package util;
+
+import obj.Obstacle;
+import obj.soldier.Enemy;
+import obj.soldier.Soldier;
+import static util.Const.GUI.*;
+import static util.Const.Soldier.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Line of sight service of the level.
+ * View along a row or column is blocked by an obstacle or an alive enemy closer than half a sprite to the line.
+ * Obstacles are precomputed into sorted spans of every grid column and row, so a query is a binary search.
+ * Enemies are taken from the collision grid buckets, which are kept current as enemies move.
+ */
+public class Sight {
+    private static final float HALF = SPRITE / 2f; // max distance of blocker from the line of sight
+    // Grid buckets soldiers by their hitbox corner, which lies HITBOX_INSET from their position.
+    // Searched span of cells is shifted by the inset and widened by one pixel on both sides,
+    // because float positions are truncated to the integer hitbox.
+    private static final int LOW = HITBOX_INSET - 1; // shift of the span start
+    private static final int HIGH = HITBOX_INSET + 1; // shift of the span end
+
+    private final Level level; // associated level
+    private float[][] colY, colX; // obstacle coordinates of every column (sorted by y)
+    private float[][] rowX, rowY; // obstacle coordinates of every row (sorted by x)
+    private boolean dirty = true; // obstacles were changed since the last build
+
+    /**
+     * Constructor for the Sight.
+     *
+     * @param level associated Level object.
+     */
+    public Sight(Level level) {
+        this.level = level;
+    }
+
+    /**
+     * Marks obstacle spans to be built again before the next query.
+     * Must be called after obstacle was added or removed.
+     */
+    public void invalidate() {
+        dirty = true;
+    }
+
+    /**
+     * Controls if the view along the column is free.
+     *
+     * @param x     x-coordinate of the line of sight.
+     * @param fromY y-coordinate of the upper end (excluded).
+     * @param toY   y-coordinate of the lower end (excluded).
+     * @return true if nothing blocks the view, false otherwise.
+     */
+    public boolean isClearVertical(float x, float fromY, float toY) {
+        if (dirty) build();
+
+        // Obstacles near the column
+        for (int c = Grid.col(x - HALF); c <= Grid.col(x + HALF); ++c) {
+            if (isBlocked(colY[c], colX[c], fromY, toY, x)) return false;
+        }
+
+        // Alive enemies near the column (bucketed by their hitbox corner)
+        Grid grid = level.getGrid();
+        for (int c = Grid.col(x - HALF + LOW); c <= Grid.col(x + HALF + HIGH); ++c) {
+            if (grid.getColumnCount(c) == 0) continue;
+            for (int r = Grid.row(fromY + LOW); r <= Grid.row(toY + HIGH); ++r) {
+                for (int i = 0; i < grid.getCount(c, r); ++i) {
+                    Soldier soldier = grid.get(c, r, i);
+                    boolean betweenX = soldier.getX() - HALF <= x && x <= soldier.getX() + HALF;
+                    boolean betweenY = soldier.getY() > fromY && soldier.getY() < toY;
+                    if (soldier instanceof Enemy && !soldier.isDead() && betweenX && betweenY) return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Controls if the view along the row is free.
+     *
+     * @param y     y-coordinate of the line of sight.
+     * @param fromX x-coordinate of the left end (excluded).
+     * @param toX   x-coordinate of the right end (excluded).
+     * @return true if nothing blocks the view, false otherwise.
+     */
+    public boolean isClearHorizontal(float y, float fromX, float toX) {
+        if (dirty) build();
+
+        // Obstacles near the row
+        for (int r = Grid.row(y - HALF); r <= Grid.row(y + HALF); ++r) {
+            if (isBlocked(rowX[r], rowY[r], fromX, toX, y)) return false;
+        }
+
+        // Alive enemies near the row (bucketed by their hitbox corner)
+        Grid grid = level.getGrid();
+        for (int r = Grid.row(y - HALF + LOW); r <= Grid.row(y + HALF + HIGH); ++r) {
+            if (grid.getRowCount(r) == 0) continue;
+            for (int c = Grid.col(fromX + LOW); c <= Grid.col(toX + HIGH); ++c) {
+                for (int i = 0; i < grid.getCount(c, r); ++i) {
+                    Soldier soldier = grid.get(c, r, i);
+                    boolean betweenX = soldier.getX() > fromX && soldier.getX() < toX;
+                    boolean betweenY = soldier.getY() - HALF <= y && y <= soldier.getY() + HALF;
+                    if (soldier instanceof Enemy && !soldier.isDead() && betweenX && betweenY) return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Controls if some obstacle of the span lies between the ends and close to the line.
+     *
+     * @param along     obstacle coordinates along the line (sorted).
+     * @param across    obstacle coordinates across the line.
+     * @param from      start of the line (excluded).
+     * @param to        end of the line (excluded).
+     * @param line      coordinate of the line.
+     * @return true if obstacle blocks the line, false otherwise.
+     */
+    private static boolean isBlocked(float[] along, float[] across, float from, float to, float line) {
+        int low = 0, high = along.length; // Find first obstacle after the start
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (along[mid] <= from) low = mid + 1; else high = mid;
+        }
+        for (int i = low; i < along.length && along[i] < to; ++i) {
+            if (across[i] - HALF <= line && line <= across[i] + HALF) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Builds sorted obstacle spans of all columns and rows.
+     */
+    private void build() {
+        List<List<Obstacle>> cols = new ArrayList<>(), rows = new ArrayList<>();
+        for (int c = 0; c < Grid.COLS; ++c) cols.add(new ArrayList<>());
+        for (int r = 0; r < Grid.ROWS; ++r) rows.add(new ArrayList<>());
+        for (Obstacle obstacle : level.getObstacles()) {
+            cols.get(Grid.col(obstacle.getX())).add(obstacle);
+            rows.get(Grid.row(obstacle.getY())).add(obstacle);
+        }
+
+        colY = new float[Grid.COLS][];
+        colX = new float[Grid.COLS][];
+        for (int c = 0; c < Grid.COLS; ++c) {
+            List<Obstacle> col = cols.get(c);
+            col.sort(Comparator.comparingDouble(Obstacle::getY));
+            colY[c] = new float[col.size()];
+            colX[c] = new float[col.size()];
+            for (int i = 0; i < col.size(); ++i) {colY[c][i] = col.get(i).getY(); colX[c][i] = col.get(i).getX();}
+        }
+
+        rowX = new float[Grid.ROWS][];
+        rowY = new float[Grid.ROWS][];
+        for (int r = 0; r < Grid.ROWS; ++r) {
+            List<Obstacle> row = rows.get(r);
+            row.sort(Comparator.comparingDouble(Obstacle::getX));
+            rowX[r] = new float[row.size()];
+            rowY[r] = new float[row.size()];
+            for (int i = 0; i < row.size(); ++i) {rowX[r][i] = row.get(i).getX(); rowY[r][i] = row.get(i).getY();}
+        }
+
+        dirty = false;
+    }
+}
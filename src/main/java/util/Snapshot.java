@@ -0,0 +1,179 @@
+package util;
+
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * Render snapshot of the level.
+ * Holds sprites and positions of all level objects (in drawing order) and HUD numbers
+ * captured at the end of an update tick.
+ * Every sprite keeps also its position from the previous snapshot, so the renderer can interpolate
+ * movement between the last two ticks and show it smoothly at any frame rate.
+ * Snapshot is filled by the update thread and read by the render thread only after it was published.
+ */
+public class Snapshot {
+    private BufferedImage[] sprites = new BufferedImage[256]; // sprites to draw
+    private float[] x = new float[256], y = new float[256]; // sprite positions
+    private float[] fromX = new float[256], fromY = new float[256]; // sprite positions in the previous snapshot
+    private long time; // time of publishing (nanosec)
+    private int count; // count of sprites to draw
+    private int health, ammo, enemies, docs; // HUD numbers
+    private int[] layout; // finish and obstacle coordinates of the static layer (replaced on every change)
+
+    /**
+     * Removes all captured sprites.
+     */
+    void clear() {
+        count = 0;
+    }
+
+    /**
+     * Captures a sprite to draw.
+     * Sprite must already have its on-screen size (see Atlas).
+     *
+     * @param sprite    image to draw.
+     * @param x         x-coordinate of the sprite.
+     * @param y         y-coordinate of the sprite.
+     */
+    public void add(BufferedImage sprite, float x, float y) {
+        add(sprite, x, y, x, y);
+    }
+
+    /**
+     * Captures a moving sprite to draw.
+     * Sprite must already have its on-screen size (see Atlas).
+     *
+     * @param sprite    image to draw.
+     * @param fromX     x-coordinate of the sprite in the previous snapshot.
+     * @param fromY     y-coordinate of the sprite in the previous snapshot.
+     * @param x         x-coordinate of the sprite.
+     * @param y         y-coordinate of the sprite.
+     */
+    public void add(BufferedImage sprite, float fromX, float fromY, float x, float y) {
+        if (count == sprites.length) grow();
+        this.sprites[count] = sprite;
+        this.fromX[count] = fromX;
+        this.fromY[count] = fromY;
+        this.x[count] = x;
+        this.y[count] = y;
+        count++;
+    }
+
+    /**
+     * Captures HUD numbers.
+     *
+     * @param health    player's health amount.
+     * @param ammo      player's ammo count.
+     * @param enemies   alive enemies count.
+     * @param docs      documents count to collect.
+     */
+    void setHud(int health, int ammo, int enemies, int docs) {
+        this.health = health;
+        this.ammo = ammo;
+        this.enemies = enemies;
+        this.docs = docs;
+    }
+
+    /**
+     * Stamps the snapshot with the time of publishing.
+     *
+     * @param time  time of publishing (System.nanoTime).
+     */
+    void setTime(long time) {
+        this.time = time;
+    }
+
+    /**
+     * Returns time of publishing.
+     *
+     * @return time of publishing (System.nanoTime).
+     */
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * Captures description of the static layer.
+     * Array is never changed after publishing, new array means the layer has changed.
+     *
+     * @param layout    finish coordinates followed by obstacle coordinates.
+     */
+    void setLayout(int[] layout) {
+        this.layout = layout;
+    }
+
+    /**
+     * Returns description of the static layer.
+     *
+     * @return finish coordinates followed by obstacle coordinates.
+     */
+    public int[] getLayout() {
+        return layout;
+    }
+
+    /**
+     * Draws all captured sprites on the screen.
+     * Sprites are drawn unscaled, so Java2D uses its fast blit loops.
+     * Moving sprites are drawn between their previous and actual positions.
+     *
+     * @param graphics  Graphics object used to draw.
+     * @param alpha     progress from the previous to the actual positions (0 to 1).
+     */
+    public void render(Graphics graphics, float alpha) {
+        for (int i = 0; i < count; ++i) {
+            float drawX = fromX[i] + (x[i] - fromX[i]) * alpha;
+            float drawY = fromY[i] + (y[i] - fromY[i]) * alpha;
+            graphics.drawImage(sprites[i], (int) drawX, (int) drawY, null);
+        }
+    }
+
+    /**
+     * Doubles the capacity of the snapshot.
+     * Happens only when the level grows over all previous sizes.
+     */
+    private void grow() {
+        int capacity = sprites.length * 2;
+        sprites = Arrays.copyOf(sprites, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        fromX = Arrays.copyOf(fromX, capacity);
+        fromY = Arrays.copyOf(fromY, capacity);
+    }
+
+    /**
+     * Returns captured player's health amount.
+     *
+     * @return health amount.
+     */
+    public int getHealth() {
+        return health;
+    }
+
+    /**
+     * Returns captured player's ammo count.
+     *
+     * @return ammo count.
+     */
+    public int getAmmo() {
+        return ammo;
+    }
+
+    /**
+     * Returns captured alive enemies count.
+     *
+     * @return alive enemies count.
+     */
+    public int getEnemies() {
+        return enemies;
+    }
+
+    /**
+     * Returns captured documents count to collect.
+     *
+     * @return documents count to collect.
+     */
+    public int getDocs() {
+        return docs;
+    }
+}
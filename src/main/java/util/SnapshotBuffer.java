@@ -0,0 +1,58 @@
+package util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free handoff of render snapshots between the update and render thread.
+ * Uses three snapshots: the update thread fills the back one, the render thread draws the front one
+ * and the last published one waits in the middle. Publishing and taking only swap indices,
+ * so neither thread blocks and no snapshot is written while it is being drawn.
+ */
+public class SnapshotBuffer {
+    private static final int FRESH = 4; // flag of the middle snapshot not taken by the render thread yet
+    private static final int INDEX = 3; // mask of the snapshot index
+
+    private final Snapshot[] snapshots = {new Snapshot(), new Snapshot(), new Snapshot()};
+    private final AtomicInteger middle = new AtomicInteger(1); // index of the last published snapshot (with FRESH flag)
+    private int back = 0; // index of the snapshot filled by the update thread
+    private int front = 2; // index of the snapshot drawn by the render thread
+
+    /**
+     * Returns snapshot to fill.
+     * Used only by the update thread.
+     *
+     * @return back snapshot.
+     */
+    public Snapshot back() {
+        return snapshots[back];
+    }
+
+    /**
+     * Publishes the filled back snapshot and takes a free one for the next tick.
+     * Used only by the update thread.
+     */
+    public void publish() {
+        back = middle.getAndSet(back | FRESH) & INDEX;
+    }
+
+    /**
+     * Takes the last published snapshot, if there is a new one.
+     * Used only by the render thread.
+     *
+     * @return the newest published snapshot.
+     */
+    public Snapshot latest() {
+        if ((middle.get() & FRESH) != 0) front = middle.getAndSet(front) & INDEX;
+        return snapshots[front];
+    }
+
+    /**
+     * Returns snapshot taken by the last call of latest().
+     * Used only by the render thread.
+     *
+     * @return current front snapshot.
+     */
+    public Snapshot current() {
+        return snapshots[front];
+    }
+}
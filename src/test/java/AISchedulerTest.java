@@ -0,0 +1,87 @@
+import util.AIScheduler;
+import util.Level;
+import static util.Const.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests AIScheduler class.
+ */
+public class AISchedulerTest {
+    private AIScheduler scheduler; // scheduler to test
+
+    /**
+     * Set up before tests.
+     * Creates scheduler with the default budget.
+     */
+    @BeforeEach
+    void setUp() {
+        scheduler = new AIScheduler(Perception.BUDGET);
+    }
+
+    /**
+     * Tests that near enemies are spread over the ticks and each of them looks once per period.
+     */
+    @Test
+    void staggered() {
+        int[] slots = new int[Perception.NEAR * 2];
+        for (int i = 0; i < slots.length; i++) slots[i] = scheduler.register();
+
+        for (long tick = 0; tick < Perception.NEAR; tick++) {
+            int due = 0;
+            for (int slot : slots) if (scheduler.isDue(slot, false, tick)) due++;
+            assertEquals(2, due);
+        }
+    }
+
+    /**
+     * Tests that far enemies look less often than near ones.
+     */
+    @Test
+    void farLessOften() {
+        int slot = scheduler.register();
+        int near = 0, far = 0;
+        for (long tick = 0; tick < Perception.FAR * 10; tick++) {
+            if (scheduler.isDue(slot, false, tick)) near++;
+            if (scheduler.isDue(slot, true, tick)) far++;
+        }
+        assertEquals(10, far);
+        assertEquals(10 * Perception.FAR / Perception.NEAR, near);
+    }
+
+    /**
+     * Tests that perceptions over the budget are postponed and usage is published.
+     */
+    @Test
+    void budget() {
+        scheduler.begin();
+        for (int i = 0; i < Perception.BUDGET; i++) assertTrue(scheduler.acquire());
+        assertFalse(scheduler.acquire());
+        scheduler.end();
+        assertEquals(Perception.BUDGET, scheduler.getUsed());
+        assertEquals(1, scheduler.getDeferred());
+
+        scheduler.begin();
+        assertTrue(scheduler.acquire());
+        scheduler.end();
+        assertEquals(1, scheduler.getUsed());
+    }
+
+    /**
+     * Tests that the level never spends more perceptions than its budget.
+     */
+    @Test
+    void levelWithinBudget() {
+        Level level = new Level("OmahaBeach", "lvl", null, 1);
+        int total = 0;
+        for (int i = 0; i < Perception.FAR; i++) {
+            level.update();
+            assertTrue(level.getScheduler().getUsed() <= Perception.BUDGET);
+            total += level.getScheduler().getUsed();
+        }
+        assertTrue(total > 0);
+        assertTrue(total < level.getEnemiesCount() * Perception.FAR); // Fewer than one perception per enemy per tick
+    }
+}
@@ -0,0 +1,48 @@
+import obj.soldier.Enemy;
+import util.AI;
+import util.Level;
+import static util.Const.GUI.*;
+import static util.Const.Soldier.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests perception of the AI class.
+ */
+public class AITest {
+    private Level level; // level with the player at [0, 896]
+    private Enemy enemy; // far enemy in the player's column
+
+    /**
+     * Set up before tests.
+     * Creates level construction and far enemy above the player looking to the right.
+     */
+    @BeforeEach
+    void setUp() {
+        level = new Level(null);
+        enemy = new Enemy(0, 3 * SPRITE, level);
+        enemy.setDirection(RIGHT);
+    }
+
+    /**
+     * Tests that far enemy turns toward the visible player.
+     */
+    @Test
+    void farEnemyTurns() {
+        new AI(level, enemy).perceive(); // First slot is due in the first tick
+        assertEquals(DOWN, enemy.getDirection());
+        assertFalse(enemy.isShooting());
+    }
+
+    /**
+     * Tests that far enemy doesn't turn if the view is blocked.
+     */
+    @Test
+    void farEnemyBlocked() {
+        level.createObstacle(0, 8 * SPRITE);
+        new AI(level, enemy).perceive();
+        assertEquals(RIGHT, enemy.getDirection());
+    }
+}
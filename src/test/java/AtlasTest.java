@@ -0,0 +1,82 @@
+import obj.collectible.Doc;
+import util.Atlas;
+import util.Level;
+import util.Snapshot;
+import static util.Const.GUI.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests Atlas class.
+ */
+public class AtlasTest {
+    private Level level; // level for created objects
+
+    /**
+     * Set up before tests.
+     * Creates level construction.
+     */
+    @BeforeEach
+    void setUp() {
+        level = new Level(null);
+    }
+
+    /**
+     * Tests that objects of the same type share frames.
+     */
+    @Test
+    void framesShared() {
+        assertSame(Atlas.get(GameObject.OBSTACLE), Atlas.get(GameObject.OBSTACLE));
+        assertSame(Atlas.get(GameObject.DOC), Atlas.get(GameObject.DOC));
+    }
+
+    /**
+     * Tests that many rendered objects don't slice frames again.
+     * Headless level loads frames only when its objects are rendered.
+     */
+    @Test
+    void lookupsHit() {
+        Snapshot snapshot = new Snapshot();
+        new Doc(0, 0, level).render(snapshot); // Make sure frames are sliced
+        long misses = Atlas.getMisses();
+        long hits = Atlas.getHits();
+        for (int i = 0; i < 400; ++i) new Doc(i, 0, level).render(snapshot);
+        assertTrue(Atlas.getHits() >= hits + 400 - 1);
+        assertTrue(Atlas.getMisses() <= misses + 1);
+    }
+
+    /**
+     * Tests that headless simulation doesn't load any images.
+     */
+    @Test
+    void headlessWithoutImages() {
+        long lookups = Atlas.getHits() + Atlas.getMisses();
+        Level loaded = new Level("OmahaBeach", "lvl", null);
+        for (int i = 0; i < 1000; ++i) loaded.update();
+        assertEquals(lookups, Atlas.getHits() + Atlas.getMisses());
+    }
+
+    /**
+     * Tests that every sprite sheet is decoded only once.
+     */
+    @Test
+    void sheetsDecodedOnce() {
+        for (int type : new int[]{GameObject.PLAYER, GameObject.ENEMY, GameObject.DOC, GameObject.HEALTH, GameObject.AMMO, GameObject.OBSTACLE, GameObject.FINISH, GameObject.BULLET}) {
+            Atlas.get(type);
+        }
+        assertEquals(4, Atlas.getSheets());
+    }
+
+    /**
+     * Tests that frames are prepared at their on-screen size.
+     */
+    @Test
+    void framesPrescaled() {
+        assertEquals(SPRITE, Atlas.get(GameObject.ENEMY)[2][1][3].getWidth());
+        assertEquals(SPRITE, Atlas.get(GameObject.AMMO)[0][0][0].getHeight());
+        assertEquals(SPRITE, Atlas.get(GameObject.FINISH)[0][0][0].getWidth());
+        assertEquals(GameObject.BULLET, Atlas.get(GameObject.BULLET)[3][0][0].getWidth());
+    }
+}
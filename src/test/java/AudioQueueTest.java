@@ -0,0 +1,75 @@
+import util.AudioQueue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests AudioQueue class.
+ */
+public class AudioQueueTest {
+    private AudioQueue queue; // queue to test
+
+    /**
+     * Set up before tests.
+     * Creates small queue.
+     */
+    @BeforeEach
+    void setUp() {
+        queue = new AudioQueue(4);
+    }
+
+    /**
+     * Tests that empty queue returns nothing.
+     */
+    @Test
+    void emptyPoll() {
+        assertEquals(AudioQueue.EMPTY, queue.poll());
+    }
+
+    /**
+     * Tests that commands are taken in the order they were queued.
+     */
+    @Test
+    void commandsOrder() {
+        for (int i = 0; i < 10; i++) { // Several laps over the slots
+            queue.offer(i);
+            queue.offer(i + 100);
+            assertEquals(i, queue.poll());
+            assertEquals(i + 100, queue.poll());
+        }
+        assertEquals(AudioQueue.EMPTY, queue.poll());
+    }
+
+    /**
+     * Tests that full queue drops commands instead of waiting.
+     */
+    @Test
+    void fullQueueDrops() {
+        for (int i = 0; i < 4; i++) assertTrue(queue.offer(i));
+        assertFalse(queue.offer(4));
+        assertEquals(1, queue.getDropped());
+        assertEquals(0, queue.poll());
+        assertTrue(queue.offer(5));
+    }
+
+    /**
+     * Tests that commands from several threads aren't lost.
+     */
+    @Test
+    void concurrentOffers() throws InterruptedException {
+        AudioQueue large = new AudioQueue(4096);
+        Thread[] producers = new Thread[4];
+        for (int t = 0; t < producers.length; t++) {
+            int base = t * 1000;
+            producers[t] = new Thread(() -> {for (int i = 0; i < 1000; i++) large.offer(base + i);});
+            producers[t].start();
+        }
+        for (Thread producer : producers) producer.join();
+
+        boolean[] seen = new boolean[4000];
+        int command;
+        while ((command = large.poll()) != AudioQueue.EMPTY) seen[command] = true;
+        for (boolean s : seen) assertTrue(s);
+    }
+}
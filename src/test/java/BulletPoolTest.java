@@ -0,0 +1,85 @@
+import obj.BulletPool;
+import util.Level;
+import util.Const.Binary;
+import static util.Const.Soldier.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Tests BulletPool class.
+ */
+public class BulletPoolTest {
+    private BulletPool bullets; // bullet pool to test
+    private Level level; // associated level
+
+    /**
+     * Set up before tests.
+     * Creates level construction with its bullet pool.
+     */
+    @BeforeEach
+    void setUp() {
+        level = new Level(null);
+        bullets = level.getBullets();
+    }
+
+    /**
+     * Tests correct counting of created bullets.
+     */
+    @Test
+    void bulletCreation() {
+        level.createBullet(640, 640, RIGHT);
+        level.createBullet(640, 640, LEFT);
+        assertEquals(2, bullets.getCount());
+    }
+
+    /**
+     * Tests that bullet is released after its range was exhausted.
+     */
+    @Test
+    void rangeExhausted() {
+        level.createBullet(640, 640, UP);
+        for (int i = 0; i < 1000; ++i) bullets.update();
+        assertEquals(0, bullets.getCount());
+    }
+
+    /**
+     * Tests that bullet is released after it hit obstacle.
+     */
+    @Test
+    void obstacleHit() {
+        level.createObstacle(704, 640);
+        level.createBullet(640, 660, RIGHT);
+        for (int i = 0; i < 50; ++i) bullets.update();
+        assertEquals(0, bullets.getCount());
+    }
+
+    /**
+     * Tests that slots of spent bullets are reused by new bullets.
+     */
+    @Test
+    void slotsReused() {
+        int capacity = bullets.getCapacity();
+        for (int round = 0; round < 100; ++round) { // Long firefight
+            for (int i = 0; i < 10; ++i) level.createBullet(640, 640, LEFT);
+            for (int i = 0; i < 1000; ++i) bullets.update();
+        }
+        assertEquals(capacity, bullets.getCapacity());
+    }
+
+    /**
+     * Tests that only flying bullets are saved.
+     */
+    @Test
+    void onlyFlyingSaved() {
+        level.createBullet(640, 640, UP);
+        for (int i = 0; i < 1000; ++i) bullets.update();
+        level.createBullet(640, 640, DOWN);
+        ByteBuffer buffer = ByteBuffer.allocate(2 * Binary.BULLET);
+        bullets.write(buffer);
+        assertEquals(Binary.BULLET, buffer.position());
+    }
+}
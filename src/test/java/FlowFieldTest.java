@@ -0,0 +1,107 @@
+import obj.Obstacle;
+import util.FlowField;
+import util.Grid;
+import static util.Const.GUI.*;
+import static util.Const.Soldier.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests FlowField class.
+ */
+public class FlowFieldTest {
+    private Grid grid; // collision index with obstacles
+    private FlowField flow; // flow field to test
+
+    /**
+     * Set up before tests.
+     * Creates flow field over empty grid.
+     */
+    @BeforeEach
+    void setUp() {
+        grid = new Grid();
+        flow = new FlowField(grid);
+    }
+
+    /**
+     * Returns centre of the tile.
+     *
+     * @param index column or row of the tile.
+     * @return coordinate of the tile centre.
+     */
+    private static double centre(int index) {
+        return index * SPRITE + SPRITE / 2.0;
+    }
+
+    /**
+     * Tests that open field leads straight to the target.
+     */
+    @Test
+    void openField() {
+        flow.update(centre(10), centre(8));
+        assertEquals(FlowField.NONE, flow.getDirection(centre(10), centre(8)));
+        assertEquals(RIGHT, flow.getDirection(centre(5), centre(8)));
+        assertEquals(LEFT, flow.getDirection(centre(15), centre(8)));
+        assertEquals(DOWN, flow.getDirection(centre(10), centre(4)));
+        assertEquals(UP, flow.getDirection(centre(10), centre(12)));
+        assertEquals(5, flow.getDistance(centre(5), centre(8)));
+    }
+
+    /**
+     * Tests that field leads around the wall.
+     */
+    @Test
+    void aroundWall() {
+        for (int row = 3; row < Grid.ROWS - 1; row++) grid.add(new Obstacle(9 * SPRITE, row * SPRITE, null)); // Wall with gap at the bottom
+        flow.invalidate();
+        flow.update(centre(12), centre(5));
+
+        assertEquals(FlowField.NONE, flow.getDirection(centre(9), centre(5))); // Wall itself
+        assertEquals(24, flow.getDistance(centre(6), centre(5))); // Way through the gap
+
+        int col = 6, row = 5, steps = 0;
+        for (int way = flow.getDirection(centre(col), centre(row)); way != FlowField.NONE; way = flow.getDirection(centre(col), centre(row))) {
+            switch (way) { // Follow the field
+                case UP -> row--;
+                case DOWN -> row++;
+                case LEFT -> col--;
+                case RIGHT -> col++;
+            }
+            assertFalse(grid.hasObstacle(col, row));
+            steps++;
+        }
+        assertEquals(12, col);
+        assertEquals(5, row);
+        assertEquals(24, steps);
+    }
+
+    /**
+     * Tests that closed area is unreachable.
+     */
+    @Test
+    void unreachable() {
+        for (int row = 3; row < Grid.ROWS; row++) grid.add(new Obstacle(9 * SPRITE, row * SPRITE, null)); // Wall without gap
+        flow.invalidate();
+        flow.update(centre(12), centre(5));
+
+        assertEquals(FlowField.NONE, flow.getDirection(centre(6), centre(5)));
+        assertEquals(Integer.MAX_VALUE, flow.getDistance(centre(6), centre(5)));
+    }
+
+    /**
+     * Tests that field is rebuilt only when the target changes tile or obstacles change.
+     */
+    @Test
+    void rebuiltOnlyOnChange() {
+        flow.update(centre(10), centre(8));
+        flow.update(centre(10) + 10, centre(8) - 10); // Same tile
+        assertEquals(1, flow.getBuilds());
+        flow.update(centre(11), centre(8));
+        assertEquals(2, flow.getBuilds());
+        flow.invalidate();
+        flow.update(centre(11), centre(8));
+        assertEquals(3, flow.getBuilds());
+    }
+}
@@ -0,0 +1,81 @@
+import obj.soldier.Enemy;
+import obj.soldier.Player;
+import util.Grid;
+import util.Level;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests Grid class.
+ */
+public class GridTest {
+    private Grid grid; // collision grid to test
+    private Level level; // associated level
+
+    /**
+     * Set up before tests.
+     * Creates level construction with its collision grid.
+     */
+    @BeforeEach
+    void setUp() {
+        level = new Level(null);
+        grid = level.getGrid();
+    }
+
+    /**
+     * Tests correct indexing of placed obstacle.
+     */
+    @Test
+    void obstacleAdded() {
+        level.createObstacle(640, 640);
+        assertTrue(grid.isObstacle(640, 640));
+        assertTrue(grid.isObstacle(703, 703));
+        assertFalse(grid.isObstacle(704, 640));
+    }
+
+    /**
+     * Tests correct indexing of obstacle which isn't aligned to the grid.
+     */
+    @Test
+    void unalignedObstacleAdded() {
+        level.createObstacle(650, 630);
+        assertTrue(grid.isObstacle(710, 690));
+        assertFalse(grid.isObstacle(645, 640));
+    }
+
+    /**
+     * Tests correct removing of deleted obstacle.
+     */
+    @Test
+    void obstacleRemoved() {
+        level.createObstacle(640, 640);
+        level.deleteObject(640, 640);
+        assertFalse(grid.isObstacle(660, 660));
+    }
+
+    /**
+     * Tests correct indexing of placed and deleted enemy.
+     */
+    @Test
+    void enemyAddedAndRemoved() {
+        level.createEnemy(640, 640);
+        Enemy enemy = level.getEnemies().get(0);
+        assertSame(enemy, grid.enemyAt(660, 660));
+        level.deleteObject(640, 640);
+        assertNull(grid.enemyAt(660, 660));
+    }
+
+    /**
+     * Tests that soldier is found after moving to another cell.
+     */
+    @Test
+    void soldierMoved() {
+        Player player = new Player(630, 640, level);
+        level.setPlayer(player);
+        for (int i = 0; i < 100; ++i) player.moveRight(); // Hitbox crosses cell border
+        assertSame(player, grid.soldierAt(player.getHitbox().getX() + 1, player.getHitbox().getY() + 1));
+        assertNull(grid.soldierAt(645, 655));
+    }
+}
@@ -0,0 +1,79 @@
+import util.Histogram;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests Histogram class.
+ */
+public class HistogramTest {
+    private Histogram histogram; // histogram to test
+
+    /**
+     * Set up before tests.
+     * Creates empty histogram.
+     */
+    @BeforeEach
+    void setUp() {
+        histogram = new Histogram();
+    }
+
+    /**
+     * Tests count, mean and maximum of recorded values.
+     */
+    @Test
+    void summary() {
+        histogram.record(100);
+        histogram.record(300);
+        assertEquals(2, histogram.getCount());
+        assertEquals(200, histogram.getMean());
+        assertEquals(300, histogram.getMax());
+        assertEquals(300, histogram.getLast());
+    }
+
+    /**
+     * Tests that percentile lies in the narrow bucket of its value.
+     */
+    @Test
+    void percentile() {
+        for (int i = 0; i < 99; i++) histogram.record(1000);
+        histogram.record(1000000);
+        assertEquals(1000, histogram.getPercentile(50), 1000 / 16.0); // 1000 lies in bucket [992, 1023]
+        assertEquals(1000, histogram.getPercentile(99), 1000 / 16.0);
+        assertEquals(1000000, histogram.getPercentile(100));
+    }
+
+    /**
+     * Tests that percentiles of spread values are precise to the sub-bucket width.
+     */
+    @Test
+    void percentilePrecision() {
+        for (int i = 1; i <= 100000; i++) histogram.record(i * 100L);
+        for (double percentile : new double[]{10, 50, 90, 99, 99.9}) {
+            double expected = percentile * 100000;
+            assertEquals(expected, histogram.getPercentile(percentile), expected / 16);
+        }
+    }
+
+    /**
+     * Tests that small values are counted exactly.
+     */
+    @Test
+    void smallValuesExact() {
+        for (int i = 0; i < 10; i++) histogram.record(i);
+        assertEquals(4, histogram.getPercentile(50));
+        assertEquals(9, histogram.getPercentile(100));
+    }
+
+    /**
+     * Tests that reset forgets all values.
+     */
+    @Test
+    void reset() {
+        histogram.record(5);
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(99));
+    }
+}
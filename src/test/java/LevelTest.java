@@ -1,9 +1,26 @@
 import util.Level;
+import static util.Const.*;
+import static util.Const.GUI.*;
 import static util.Const.Limits.*;
+import static util.Const.Binary.*;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.*;
+
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.CRC32;
 
 /**
  * Tests Level class.
@@ -81,4 +98,175 @@ public class LevelTest {
         level.deleteObject(640, 640);
         assertEquals(1, level.getEnemies().size());
     }
+
+    /**
+     * Tests that level update doesn't allocate memory.
+     * Runs shipped level with patrolling and shooting enemies until the code is compiled, then measures allocated bytes.
+     * Every window and the total of the whole measured run are checked, so even rare allocations are caught.
+     * JIT compiler may still allocate a few bytes once when it replaces code, which the small tolerance allows.
+     */
+    @Test
+    void updateWithoutAllocation() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        Level loaded = new Level("OmahaBeach", "lvl", null);
+        for (int i = 0; i < 50000; i++) { // Warm up
+            loaded.update();
+            loaded.publish(); // Headless level doesn't publish by itself
+        }
+
+        final long tolerance = 512; // bytes of one-off JIT noise allowed over the whole run
+        long total = 0;
+        for (int window = 0; window < 10; window++) {
+            long before = threads.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < 1000; i++) {
+                loaded.update();
+                loaded.publish();
+            }
+            long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+            assertTrue(allocated <= tolerance, "Window " + window + " allocated " + allocated + " bytes.");
+            total += allocated;
+        }
+
+        assertTrue(total <= tolerance, "Level update allocated " + total + " bytes in 10000 ticks.");
+    }
+
+    /**
+     * Tests that static layer is described once and replaced only when obstacles change.
+     */
+    @Test
+    void staticLayerInvalidated() {
+        BufferedImage screen = new BufferedImage(GAME_WIDTH, GAME_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics graphics = screen.getGraphics();
+        level.publish();
+        level.render(graphics);
+        int[] layout = level.getSnapshot().getLayout();
+        assertEquals(2, layout.length); // Finish only
+        assertEquals(0, screen.getRGB(128 + SPRITE / 2, 256 + SPRITE / 2) & 0xFFFFFF);
+
+        level.update();
+        level.render(graphics);
+        assertSame(layout, level.getSnapshot().getLayout());
+
+        level.createObstacle(128, 256);
+        level.publish();
+        level.render(graphics);
+        assertNotSame(layout, level.getSnapshot().getLayout());
+        assertArrayEquals(new int[]{128, 256}, Arrays.copyOfRange(level.getSnapshot().getLayout(), 2, 4));
+        assertNotEquals(0, screen.getRGB(128 + SPRITE / 2, 256 + SPRITE / 2) & 0xFFFFFF); // Obstacle drawn from the layer
+        graphics.dispose();
+    }
+
+    /**
+     * Tests that saved level is written in binary format with header.
+     */
+    @Test
+    void savedBinary(@TempDir Path dir) throws IOException {
+        level.createEnemy(640, 640);
+        level.createObstacle(128, 256);
+        level.saveLevel("saved", dir.toString());
+
+        ByteBuffer file = ByteBuffer.wrap(Files.readAllBytes(dir.resolve("saved.bin"))).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(MAGIC, file.getInt(0));
+        assertEquals(VERSION, file.getShort(4));
+        assertEquals(1, file.getInt(8)); // Enemies count
+        assertEquals(1, file.getInt(24)); // Obstacles count
+    }
+
+    /**
+     * Tests that saved binary level is loaded back with the same objects.
+     */
+    @Test
+    void binaryReloaded(@TempDir Path dir) {
+        Level shipped = new Level("OmahaBeach", "lvl", null); // Legacy JSON file
+        for (int i = 0; i < 500; i++) shipped.update();
+        shipped.saveLevel("saved", dir.toString());
+
+        Level loaded = new Level("saved", dir.toString(), null);
+        assertEquals(shipped.getPlayer().getX(), loaded.getPlayer().getX());
+        assertEquals(shipped.getPlayer().getHealth(), loaded.getPlayer().getHealth());
+        assertEquals(shipped.getPlayer().getAmmo(), loaded.getPlayer().getAmmo());
+        assertEquals(shipped.getEnemies().size(), loaded.getEnemies().size());
+        assertEquals(shipped.getEnemies().get(0).getY(), loaded.getEnemies().get(0).getY());
+        assertEquals(shipped.getEnemiesCount(), loaded.getEnemiesCount());
+        assertEquals(shipped.getDocsCount(), loaded.getDocsCount());
+        assertEquals(shipped.getObstacles().size(), loaded.getObstacles().size());
+        assertEquals(shipped.getBullets().getCount(), loaded.getBullets().getCount());
+    }
+
+    /**
+     * Tests that seed of the level randomness is saved and restored with the level.
+     */
+    @Test
+    void seedReloaded(@TempDir Path dir) {
+        Level shipped = new Level("OmahaBeach", "lvl", null, 7); // Legacy JSON file has no seed
+        assertEquals(7, shipped.getSeed());
+        shipped.saveLevel("saved", dir.toString());
+
+        Level first = new Level("saved", dir.toString(), null);
+        Level second = new Level("saved", dir.toString(), null, 8);
+        assertEquals(7, first.getSeed());
+        assertEquals(7, second.getSeed());
+        for (int i = 0; i < 5000; i++) {
+            first.update();
+            second.update();
+        }
+        for (int i = 0; i < first.getEnemies().size(); i++) { // Enemies patrol the same way
+            assertEquals(first.getEnemies().get(i).getX(), second.getEnemies().get(i).getX());
+            assertEquals(first.getEnemies().get(i).getY(), second.getEnemies().get(i).getY());
+        }
+    }
+
+    /**
+     * Tests that binary level of the version 1 (without seed) is still loaded.
+     */
+    @Test
+    void binaryVersion1Loaded(@TempDir Path dir) throws IOException {
+        level.createEnemy(640, 640);
+        level.createObstacle(128, 256);
+        level.saveLevel("saved", dir.toString());
+
+        // Rewrite the file to the version 1 layout
+        byte[] saved = Files.readAllBytes(dir.resolve("saved.bin"));
+        ByteBuffer old = ByteBuffer.allocate(saved.length - Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        old.put(saved, 0, HEADER_1).put(saved, HEADER, saved.length - HEADER - TRAILER);
+        old.putShort(4, (short) 1);
+        CRC32 crc = new CRC32();
+        crc.update(old.duplicate().flip());
+        old.putInt((int) crc.getValue());
+        Files.write(dir.resolve("saved.bin"), old.array());
+
+        Level loaded = new Level("saved", dir.toString(), null, 9);
+        assertEquals(9, loaded.getSeed());
+        assertEquals(1, loaded.getEnemies().size());
+        assertEquals(1, loaded.getObstacles().size());
+    }
+
+    /**
+     * Tests that damaged binary level isn't loaded.
+     */
+    @Test
+    void damagedBinaryRejected(@TempDir Path dir) throws IOException {
+        level.createObstacle(128, 256);
+        level.saveLevel("saved", dir.toString());
+        byte[] file = Files.readAllBytes(dir.resolve("saved.bin"));
+        file[HEADER] ^= 1; // Damage player record
+        Files.write(dir.resolve("saved.bin"), file);
+
+        assertThrows(UncheckedIOException.class, () -> new Level("saved", dir.toString(), null));
+    }
+
+    /**
+     * Tests that animation clock follows simulation time, not the update rate.
+     */
+    @Test
+    void animationClock() {
+        assertEquals(0, level.getFrame(Animation.ITEM));
+        for (int i = 0; i < UPS; ++i) level.update();
+        assertEquals(1000000000L, level.getTime());
+        assertEquals(3 % Animation.FRAMES, level.getFrame(Animation.ITEM));
+        assertEquals(6 % Animation.FRAMES, level.getFrame(Animation.SOLDIER));
+    }
 }
@@ -0,0 +1,68 @@
+import util.Metrics;
+import static util.Const.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.management.ManagementFactory;
+import javax.management.ObjectName;
+
+/**
+ * Tests Metrics class.
+ */
+public class MetricsTest {
+    private Metrics metrics; // metrics to test
+
+    /**
+     * Set up before tests.
+     * Creates empty metrics.
+     */
+    @BeforeEach
+    void setUp() {
+        metrics = new Metrics();
+    }
+
+    /**
+     * Tests that only ticks longer than the UPS budget are counted as overruns.
+     */
+    @Test
+    void overruns() {
+        long budget = 1000000000L / UPS;
+        metrics.tick(budget / 2);
+        metrics.tick(budget * 2);
+        assertEquals(2, metrics.getTicks());
+        assertEquals(1, metrics.getOverruns());
+    }
+
+    /**
+     * Tests entity gauges of the last level update.
+     */
+    @Test
+    void gauges() {
+        metrics.levelUpdate(1000, 3, 5, 7);
+        assertEquals(3, metrics.getBullets());
+        assertEquals(5, metrics.getEnemies());
+        assertEquals(7, metrics.getCollectibles());
+    }
+
+    /**
+     * Tests that allocated bytes are measured for the thread which made ticks.
+     */
+    @Test
+    void allocatedBytes() {
+        assertEquals(-1, metrics.getUpdateAllocatedBytes()); // No tick yet
+        metrics.tick(1000);
+        assertTrue(metrics.getUpdateAllocatedBytes() > 0);
+    }
+
+    /**
+     * Tests that metrics are visible through JMX.
+     */
+    @Test
+    void registered() throws Exception {
+        assertTrue(metrics.register());
+        metrics.tick(1000);
+        assertEquals(1L, ManagementFactory.getPlatformMBeanServer().getAttribute(new ObjectName(Metrics.NAME), "Ticks"));
+    }
+}
@@ -0,0 +1,73 @@
+import util.MusicStream;
+import static util.Const.Sounds.*;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Tests MusicStream class.
+ */
+public class MusicStreamTest {
+    /**
+     * Tests that switching songs doesn't wait for the music thread.
+     */
+    @Test
+    void switchNotBlocking() {
+        MusicStream music = new MusicStream();
+        assertTimeout(Duration.ofMillis(100), () -> {
+            for (int i = 0; i < 1000; i++) music.play(i % 2 == 0 ? MENU : GAME);
+        });
+    }
+
+    /**
+     * Tests that unknown song is ignored.
+     */
+    @Test
+    void unknownSongIgnored() {
+        MusicStream music = new MusicStream();
+        assertDoesNotThrow(() -> music.play(SONGS.length));
+    }
+
+    /**
+     * Waits until the music thread meets the condition.
+     *
+     * @param condition condition to wait for.
+     */
+    private void await(BooleanSupplier condition) {
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            while (!condition.getAsBoolean()) Thread.sleep(1);
+        });
+    }
+
+    /**
+     * Tests that requesting the playing song restarts it exactly once.
+     */
+    @Test
+    void sameSongRestarted() {
+        MusicStream music = new MusicStream();
+        music.play(MENU);
+        await(() -> music.getSwitches() == 1);
+        music.play(MENU);
+        await(() -> music.getSwitches() == 2);
+        assertEquals(MENU, music.getPlaying());
+        assertEquals(2, music.getSwitches());
+    }
+
+    /**
+     * Tests that a burst of requests ends on the last song without extra restarts.
+     */
+    @Test
+    void burstEndsOnLastSong() throws InterruptedException {
+        MusicStream music = new MusicStream();
+        for (int i = 0; i < 1000; i++) music.play(i % 2 == 0 ? MENU : GAME);
+        music.play(-1); // Silence is never requested inside the burst
+        await(() -> music.getSwitches() > 0 && music.getPlaying() == -1);
+        int switches = music.getSwitches();
+        Thread.sleep(50);
+        assertEquals(switches, music.getSwitches());
+        assertTrue(switches <= 1001);
+    }
+}
@@ -0,0 +1,60 @@
+import gui.Overlay;
+import main.Scheduler;
+import util.Metrics;
+import static util.Const.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+
+/**
+ * Tests Overlay class.
+ */
+public class OverlayTest {
+    private Metrics metrics; // metrics shown by the overlay
+    private Overlay overlay; // overlay to test
+
+    /**
+     * Set up before tests.
+     * Creates overlay over empty metrics.
+     */
+    @BeforeEach
+    void setUp() {
+        metrics = new Metrics();
+        overlay = new Overlay(metrics, new Scheduler(UPS, CATCH_UP));
+    }
+
+    /**
+     * Tests that hidden overlay draws nothing and toggled overlay draws its panel.
+     */
+    @Test
+    void toggle() {
+        BufferedImage image = new BufferedImage(GAME_WIDTH, GAME_HEIGHT, BufferedImage.TYPE_INT_ARGB);
+        Graphics graphics = image.getGraphics();
+
+        assertFalse(overlay.isVisible());
+        overlay.render(graphics);
+        assertEquals(0, image.getRGB(GUI.Overlay.X + 1, GUI.Overlay.Y + 1));
+
+        overlay.toggle();
+        assertTrue(overlay.isVisible());
+        overlay.render(graphics);
+        assertNotEquals(0, image.getRGB(GUI.Overlay.X + 1, GUI.Overlay.Y + 1));
+        graphics.dispose();
+    }
+
+    /**
+     * Tests that phase timings and entity counts are written into the text.
+     */
+    @Test
+    void text() {
+        for (int i = 0; i < 100; i++) metrics.phase(Metrics.AI, 42000);
+        metrics.levelUpdate(1000, 3, 5, 7);
+
+        assertTrue(overlay.getLine(2).startsWith("AI 4"));
+        assertTrue(overlay.getLine(4).startsWith("enemies 5  bullets 3  items 7"));
+    }
+}
@@ -0,0 +1,57 @@
+import util.PcmMixer;
+import static util.Const.Sounds.*;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests PcmMixer class.
+ */
+public class PcmMixerTest {
+    /**
+     * Tests that stereo sound keeps its length after decoding.
+     */
+    @Test
+    void stereoDecoded() {
+        assertEquals(44100 * 2, PcmMixer.decode(SOUNDS[DIE]).length); // One second of stereo samples
+    }
+
+    /**
+     * Tests that mono sound with other sample rate is converted to the mixer format.
+     */
+    @Test
+    void monoResampled() {
+        int frames = (int) (15604 / (48000 / RATE)); // Length of the empty.wav at the mixer rate
+        assertEquals(frames * 2, PcmMixer.decode(SOUNDS[EMPTY]).length);
+    }
+
+    /**
+     * Tests that every sound is decoded only once.
+     */
+    @Test
+    void decodedOnce() {
+        assertSame(PcmMixer.decode(SOUNDS[HIT]), PcmMixer.decode(SOUNDS[HIT]));
+    }
+
+    /**
+     * Tests that mixer reuses voices when all of them are playing.
+     */
+    @Test
+    void voicesLimited() {
+        PcmMixer mixer = new PcmMixer();
+        for (int i = 0; i < MIX_VOICES + 5; i++) mixer.start(SHOOT);
+        assertEquals(MIX_VOICES, mixer.getActiveVoices());
+    }
+
+    /**
+     * Tests that voice is freed when its sound is over.
+     */
+    @Test
+    void voiceFinished() {
+        PcmMixer mixer = new PcmMixer();
+        mixer.start(ERROR);
+        int blocks = PcmMixer.decode(SOUNDS[ERROR]).length / (MIX_FRAMES * 2) + 1;
+        for (int i = 0; i < blocks; i++) mixer.mix();
+        assertFalse(mixer.isActive());
+    }
+}
@@ -0,0 +1,148 @@
+import main.Simulation;
+import obj.soldier.Enemy;
+import util.Level;
+import util.Replay;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.event.KeyEvent;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Tests Replay class.
+ */
+public class ReplayTest {
+    private static final long SEED = 42; // seed of the recorded game
+    private static final int LENGTH = 3000; // count of recorded ticks
+    private static final int[][] CONTROLS = { // tick, key code, pressed
+            {10, KeyEvent.VK_RIGHT, 1}, {50, KeyEvent.VK_SPACE, 1}, {51, KeyEvent.VK_SPACE, 0},
+            {400, KeyEvent.VK_RIGHT, 0}, {420, KeyEvent.VK_UP, 1}, {900, KeyEvent.VK_UP, 0},
+            {950, KeyEvent.VK_SPACE, 1}, {951, KeyEvent.VK_SPACE, 0}, {1000, KeyEvent.VK_LEFT, 1}, {2000, KeyEvent.VK_LEFT, 0}};
+    private Replay replay; // replay to test
+
+    /**
+     * Set up before tests.
+     * Records scripted game on shipped level.
+     */
+    @BeforeEach
+    void setUp() {
+        replay = new Replay("OmahaBeach", "lvl", SEED);
+        for (int[] control : CONTROLS) replay.record(control[0], control[1], control[2] == 1);
+        replay.finish(LENGTH);
+    }
+
+    /**
+     * Tests that replay file keeps all recorded information.
+     */
+    @Test
+    void savedAndLoaded(@TempDir Path dir) {
+        String file = dir.resolve("game.rpl").toString();
+        replay.save(file);
+        Replay loaded = Replay.load(file);
+
+        assertEquals("OmahaBeach", loaded.getName());
+        assertEquals(SEED, loaded.getSeed());
+        assertEquals(LENGTH, loaded.getLength());
+        assertEquals(CONTROLS.length, loaded.getCount());
+        assertState(play(replay), play(loaded));
+    }
+
+    /**
+     * Tests that two replays of the same recording end in identical state.
+     */
+    @Test
+    void deterministic() {
+        Simulation first = new Simulation(replay);
+        Simulation second = new Simulation(replay);
+        first.step(Long.MAX_VALUE);
+        second.step(Long.MAX_VALUE);
+        assertEquals(first.getTicks(), second.getTicks());
+        assertState(first.getLevel(), second.getLevel());
+    }
+
+    /**
+     * Tests that replay ends in the same state as the recorded game.
+     */
+    @Test
+    void matchesRecordedGame() {
+        Level game = new Level("OmahaBeach", "lvl", null, SEED);
+        int next = 0;
+        while (game.getTick() < LENGTH && !game.getPlayer().isDead()) { // Controls applied as the keyboard does
+            while (next < CONTROLS.length && CONTROLS[next][0] == game.getTick()) {
+                game.getPlayer().control(CONTROLS[next][1], CONTROLS[next][2] == 1);
+                next++;
+            }
+            game.update();
+        }
+        assertState(game, play(replay));
+    }
+
+    /**
+     * Tests that damaged replay file is rejected.
+     */
+    @Test
+    void damagedRejected(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("game.rpl");
+        replay.save(file.toString());
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 8] ^= 0x1;
+        Files.write(file, bytes);
+        assertThrows(UncheckedIOException.class, () -> Replay.load(file.toString()));
+    }
+
+    /**
+     * Tests that replay of a rewritten level file is refused, also after saving and loading.
+     */
+    @Test
+    void changedLevelRefused(@TempDir Path dir) throws Exception {
+        Path level = dir.resolve("OmahaBeach.bin");
+        Files.copy(Path.of("lvl", "OmahaBeach.bin"), level);
+        Replay recorded = new Replay("OmahaBeach", dir.toString(), SEED);
+        String file = dir.resolve("game.rpl").toString();
+        recorded.save(file);
+        assertFalse(Replay.load(file).isLevelChanged());
+
+        new Level("OmahaBeach", dir.toString(), null, SEED + 1).saveLevel("OmahaBeach", dir.toString()); // Saved over the recorded level
+        assertTrue(recorded.isLevelChanged());
+        assertThrows(IllegalStateException.class, () -> Replay.load(file).createLevel(null));
+    }
+
+    /**
+     * Plays the whole replay headlessly.
+     *
+     * @param replay replay to play.
+     * @return level in the final state.
+     */
+    private static Level play(Replay replay) {
+        Simulation simulation = new Simulation(replay);
+        simulation.step(Long.MAX_VALUE);
+        return simulation.getLevel();
+    }
+
+    /**
+     * Controls that two levels are in identical state.
+     *
+     * @param expected  first level.
+     * @param actual    second level.
+     */
+    private static void assertState(Level expected, Level actual) {
+        assertEquals(expected.getTick(), actual.getTick());
+        assertEquals(expected.getPlayer().getX(), actual.getPlayer().getX());
+        assertEquals(expected.getPlayer().getY(), actual.getPlayer().getY());
+        assertEquals(expected.getPlayer().getHealth(), actual.getPlayer().getHealth());
+        assertEquals(expected.getPlayer().getAmmo(), actual.getPlayer().getAmmo());
+        assertEquals(expected.getEnemiesCount(), actual.getEnemiesCount());
+        assertEquals(expected.getBullets().getCount(), actual.getBullets().getCount());
+        for (int i = 0; i < expected.getEnemies().size(); i++) {
+            Enemy first = expected.getEnemies().get(i), second = actual.getEnemies().get(i);
+            assertEquals(first.getX(), second.getX());
+            assertEquals(first.getY(), second.getY());
+            assertEquals(first.getHealth(), second.getHealth());
+        }
+    }
+}
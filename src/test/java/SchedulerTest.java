@@ -0,0 +1,87 @@
+import main.Scheduler;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Tests Scheduler class.
+ */
+public class SchedulerTest {
+    private static final int RATE = 100; // ticks per second of tested schedulers
+    private static final int STALL = 10; // length of the stall in tick periods
+
+    /**
+     * Runs the scheduler for the count of ticks, stalling on the first one.
+     *
+     * @param scheduler scheduler to run.
+     * @param count     count of ticks to run.
+     */
+    private void runStalled(Scheduler scheduler, int count) {
+        scheduler.run(() -> {
+            if (scheduler.getTicks() == 0) LockSupport.parkNanos(STALL * scheduler.getPeriod());
+        }, () -> scheduler.getTicks() < count);
+    }
+
+    /**
+     * Tests that ticks run on time are neither late nor skipped.
+     */
+    @Test
+    void onTime() {
+        Scheduler scheduler = new Scheduler(RATE, 0);
+        scheduler.run(() -> {}, () -> scheduler.getTicks() < 5);
+        assertEquals(5, scheduler.getTicks());
+        assertEquals(0, scheduler.getSkipped());
+    }
+
+    /**
+     * Tests that all ticks missed during a short stall are caught up.
+     */
+    @Test
+    void catchUpAll() {
+        Scheduler scheduler = new Scheduler(RATE, 100);
+        runStalled(scheduler, 15);
+        assertEquals(15, scheduler.getTicks());
+        assertEquals(0, scheduler.getSkipped());
+        assertTrue(scheduler.getLate() >= STALL - 1);
+    }
+
+    /**
+     * Tests that ticks over the catch-up limit are skipped.
+     */
+    @Test
+    void catchUpLimited() {
+        Scheduler scheduler = new Scheduler(RATE, 3);
+        runStalled(scheduler, 10);
+        assertEquals(10, scheduler.getTicks());
+        assertTrue(scheduler.getSkipped() >= STALL - 1 - 3);
+        assertTrue(scheduler.getLate() >= 3);
+    }
+
+    /**
+     * Tests that no catch-up drops every tick missed during a stall.
+     */
+    @Test
+    void noCatchUp() {
+        Scheduler scheduler = new Scheduler(RATE, 0);
+        runStalled(scheduler, 5);
+        assertEquals(5, scheduler.getTicks());
+        assertTrue(scheduler.getSkipped() >= STALL - 1);
+        assertTrue(scheduler.getLate() >= 1);
+    }
+
+    /**
+     * Tests that interpolation progress is clamped to 0 - 1.
+     */
+    @Test
+    void alphaClamped() {
+        Scheduler scheduler = new Scheduler(RATE, 0);
+        long now = System.nanoTime();
+        assertEquals(1, scheduler.getAlpha(now - 2 * scheduler.getPeriod()));
+        assertEquals(1, scheduler.getAlpha(now - scheduler.getPeriod()));
+        assertEquals(0, scheduler.getAlpha(now + scheduler.getPeriod()));
+        float alpha = scheduler.getAlpha(now - scheduler.getPeriod() / 2);
+        assertTrue(alpha >= 0.5f && alpha <= 1);
+    }
+}
@@ -0,0 +1,75 @@
+import util.Level;
+import util.Sight;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests Sight class.
+ */
+public class SightTest {
+    private Sight sight; // line of sight service to test
+    private Level level; // associated level
+
+    /**
+     * Set up before tests.
+     * Creates level construction with its line of sight service.
+     */
+    @BeforeEach
+    void setUp() {
+        level = new Level(null);
+        sight = level.getSight();
+    }
+
+    /**
+     * Tests that empty level doesn't block the view.
+     */
+    @Test
+    void clearView() {
+        assertTrue(sight.isClearVertical(640, 192, 896));
+        assertTrue(sight.isClearHorizontal(640, 0, 1216));
+    }
+
+    /**
+     * Tests that obstacle between the ends blocks the view.
+     */
+    @Test
+    void obstacleBlocks() {
+        level.createObstacle(640, 512);
+        assertFalse(sight.isClearVertical(660, 192, 896));
+        assertFalse(sight.isClearHorizontal(530, 0, 1216));
+    }
+
+    /**
+     * Tests that obstacle outside the ends or far from the line doesn't block the view.
+     */
+    @Test
+    void obstacleAside() {
+        level.createObstacle(640, 512);
+        assertTrue(sight.isClearVertical(640, 576, 896));
+        assertTrue(sight.isClearVertical(710, 192, 896));
+    }
+
+    /**
+     * Tests that deleted obstacle doesn't block the view anymore.
+     */
+    @Test
+    void obstacleDeleted() {
+        level.createObstacle(640, 512);
+        assertFalse(sight.isClearVertical(640, 192, 896));
+        level.deleteObject(640, 512);
+        assertTrue(sight.isClearVertical(640, 192, 896));
+    }
+
+    /**
+     * Tests that alive enemy between the ends blocks the view.
+     */
+    @Test
+    void enemyBlocks() {
+        level.createEnemy(640, 512);
+        assertFalse(sight.isClearVertical(640, 192, 896));
+        assertFalse(sight.isClearHorizontal(512, 0, 1216));
+        assertTrue(sight.isClearHorizontal(512, 640, 1216)); // Enemy at the end doesn't block itself
+    }
+}
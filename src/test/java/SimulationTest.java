@@ -0,0 +1,49 @@
+import main.Simulation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests Simulation class.
+ */
+public class SimulationTest {
+    private Simulation simulation; // simulation to test
+
+    /**
+     * Set up before tests.
+     * Loads shipped level without application.
+     */
+    @BeforeEach
+    void setUp() {
+        simulation = new Simulation("OmahaBeach", "lvl");
+    }
+
+    /**
+     * Tests correct loading of level objects.
+     */
+    @Test
+    void levelLoaded() {
+        assertTrue(simulation.getLevel().getEnemiesCount() > 0);
+    }
+
+    /**
+     * Tests correct counting of simulated steps.
+     */
+    @Test
+    void stepsCount() {
+        simulation.step(100);
+        assertEquals(100, simulation.getTicks());
+    }
+
+    /**
+     * Tests that simulation stops when the level is over.
+     */
+    @Test
+    void stopsWhenOver() {
+        simulation.getLevel().getPlayer().setHealth(0);
+        long made = simulation.step(100);
+        assertTrue(simulation.isLost());
+        assertEquals(1, made);
+    }
+}
@@ -0,0 +1,79 @@
+import main.Scheduler;
+import util.Snapshot;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+
+/**
+ * Tests interpolation of the Snapshot rendering.
+ */
+public class SnapshotTest {
+    private Snapshot snapshot; // snapshot to test
+    private BufferedImage screen; // target of drawing
+    private BufferedImage dot; // one-pixel sprite
+
+    /**
+     * Set up before tests.
+     * Creates snapshot with one moving sprite.
+     */
+    @BeforeEach
+    void setUp() {
+        snapshot = new Snapshot();
+        screen = new BufferedImage(64, 8, BufferedImage.TYPE_INT_RGB);
+        dot = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB);
+        dot.setRGB(0, 0, 0xFFFFFF);
+        snapshot.add(dot, 10, 2, 30, 2);
+    }
+
+    /**
+     * Draws the snapshot and finds the drawn sprite.
+     *
+     * @param alpha progress between the last two ticks.
+     * @return x-coordinate of the sprite, -1 if it isn't drawn.
+     */
+    private int draw(float alpha) {
+        Graphics graphics = screen.createGraphics();
+        graphics.clearRect(0, 0, screen.getWidth(), screen.getHeight());
+        snapshot.render(graphics, alpha);
+        graphics.dispose();
+        for (int x = 0; x < screen.getWidth(); x++) if ((screen.getRGB(x, 2) & 0xFFFFFF) != 0) return x;
+        return -1;
+    }
+
+    /**
+     * Tests that sprite is drawn between its previous and actual positions.
+     */
+    @Test
+    void interpolated() {
+        assertEquals(10, draw(0));
+        assertEquals(20, draw(0.5f));
+        assertEquals(30, draw(1));
+    }
+
+    /**
+     * Tests that sprite without movement stays in place.
+     */
+    @Test
+    void staticSprite() {
+        snapshot = new Snapshot();
+        snapshot.add(dot, 40, 2);
+        assertEquals(40, draw(0.3f));
+    }
+
+    /**
+     * Tests that interpolation progress is limited to one tick.
+     */
+    @Test
+    void alphaClamped() {
+        Scheduler scheduler = new Scheduler(100, 0);
+        long now = System.nanoTime();
+        assertEquals(1, scheduler.getAlpha(now - 2 * scheduler.getPeriod()));
+        assertEquals(0, scheduler.getAlpha(now + scheduler.getPeriod()));
+        float alpha = scheduler.getAlpha(now - scheduler.getPeriod() / 2);
+        assertTrue(alpha >= 0.5f && alpha <= 1);
+    }
+}